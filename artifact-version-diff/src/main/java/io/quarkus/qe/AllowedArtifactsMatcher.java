@@ -0,0 +1,72 @@
+package io.quarkus.qe;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Allowed artifacts rules compiled once when the allowed artifacts file is loaded.
+ * Artifacts are looked up directly first. When there is no such rule, rules containing `*` are tried by single pattern
+ * where every rule is one alternative in order of the file, so the first matching rule wins. The `*` matches any
+ * characters, the rest of the rule is matched literally.
+ */
+public class AllowedArtifactsMatcher {
+
+    private static final String GROUP_PREFIX = "rule";
+
+    private final Map<String, List<String>> exactArtifacts = new HashMap<>();
+    private final List<List<String>> wildcardVersions = new ArrayList<>();
+    private final Pattern wildcardPattern;
+
+    /**
+     * @param allowedArtifacts allowed artifacts and theirs versions in order of allowed artifacts file
+     */
+    public AllowedArtifactsMatcher(Map<String, List<String>> allowedArtifacts) {
+        StringJoiner alternatives = new StringJoiner("|");
+        for (Map.Entry<String, List<String>> allowedArtifact : allowedArtifacts.entrySet()) {
+            String artifact = allowedArtifact.getKey();
+            exactArtifacts.put(artifact, allowedArtifact.getValue());
+            if (artifact.contains("*")) {
+                alternatives.add("(?<" + GROUP_PREFIX + wildcardVersions.size() + ">" + toRegex(artifact) + ")");
+                wildcardVersions.add(allowedArtifact.getValue());
+            }
+        }
+        wildcardPattern = wildcardVersions.isEmpty() ? null : Pattern.compile(alternatives.toString());
+    }
+
+    /**
+     * @return regex where `*` matches any characters and the parts between are quoted, e.g. `.` isn't any character
+     */
+    static String toRegex(String rule) {
+        StringJoiner regex = new StringJoiner(".*");
+        for (String literal : rule.split("\\*", -1)) {
+            regex.add(literal.isEmpty() ? "" : Pattern.quote(literal));
+        }
+        return regex.toString();
+    }
+
+    /**
+     * @param artifact artifact which should be looked up
+     * @return allowed versions of the first rule matching the artifact, null if no rule match it
+     */
+    public List<String> findVersions(String artifact) {
+        List<String> versions = exactArtifacts.get(artifact);
+        if (versions != null || wildcardPattern == null) {
+            return versions;
+        }
+        Matcher matcher = wildcardPattern.matcher(artifact);
+        if (!matcher.matches()) {
+            return null;
+        }
+        for (int rule = 0; rule < wildcardVersions.size(); rule++) {
+            if (matcher.start(GROUP_PREFIX + rule) >= 0) {
+                return wildcardVersions.get(rule);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,492 @@
+package io.quarkus.qe;
+
+import org.apache.maven.model.Activation;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Parent;
+import org.apache.maven.model.Profile;
+import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * In-process replacement of `mvn versions:compare-dependencies -DremotePom=...` over the Quarkus reactor.
+ * Every module of the checkout gets its managed dependencies and dependencies resolved like Maven does
+ * (parent inheritance, property interpolation, imported BOMs) and compared with the dependencyManagement
+ * of the remote platform BOM by management key. Each version difference is reported as the versions plugin
+ * does in `depDiffs.txt`: artifact `groupId:artifactId`, module location and `<project_version> -> <remote_version>`.
+ * <p>
+ * Parents and BOMs are looked up in the checkout first and then in the local Maven repository, the missing ones
+ * are downloaded by `mvn dependency:get` as Maven would do. The ones which can't be downloaded are logged
+ * and listed by {@link #getUnresolvedPoms()}, the differences of their managed dependencies are missing in the report.
+ * Parents and imported BOMs reaching themselves again, where Maven fails, are listed there too. Each module breaks
+ * the cycle where it finds it. Resolved parents and imported BOMs are shared by all modules, except the ones resolved
+ * while a cycle was broken, as they depend on where the cycle was entered.
+ */
+public class CompareDependencies {
+
+    private static final Logger LOG = Logger.getLogger(CompareDependencies.class.getName());
+    private static final int MAX_INTERPOLATION_DEPTH = 10;
+    private static final String DEFAULT_TYPE = "jar";
+    private static final String POM_FILE_NAME = "pom.xml";
+    // modules of these top-level directories are reported, same as for the versions plugin output
+    public static final List<String> REPORTED_ROOTS = List.of("bom", "core", "extensions", "test-framework");
+
+    private final Path quarkusRepoDirectory;
+    private final Path localRepository;
+    private final List<Path> reactorPoms = new ArrayList<>();
+    private final Map<String, Path> reactorPomsByGav = new HashMap<>();
+    private final Map<Path, Model> rawModels = new ConcurrentHashMap<>();
+    private final Map<Path, EffectiveModel> effectiveModels = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Dependency>> importedBoms = new ConcurrentHashMap<>();
+    private final Map<String, Optional<Path>> downloadedPoms = new ConcurrentHashMap<>();
+    private final Set<String> unresolvedPoms = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Receives every version difference of a module.
+     */
+    @FunctionalInterface
+    public interface DifferenceConsumer {
+        /**
+         * @param artifact artifact in format `groupId:artifactId`
+         * @param location module directory relative to the Quarkus repository, e.g. `/extensions/arc/runtime/`
+         * @param versions versions in format `<project_version> -> <remote_version>`
+         */
+        void accept(String artifact, String location, String versions);
+    }
+
+    public CompareDependencies(Path quarkusRepoDirectory, Path localRepository) {
+        this.quarkusRepoDirectory = quarkusRepoDirectory.toAbsolutePath().normalize();
+        this.localRepository = localRepository;
+    }
+
+    /**
+     * Compare all reported modules of the reactor with the remote BOM. Modules are resolved and compared in parallel,
+     * the differences are passed to the consumer in the reactor order.
+     *
+     * @param remoteBom path to remote platform BOM
+     */
+    public void compare(Path remoteBom, DifferenceConsumer consumer) {
+        loadReactor();
+        Map<String, String> remoteVersions = new HashMap<>();
+        Resolving resolving = new Resolving();
+        EffectiveModel remoteModel = effectiveModel(remoteBom.toAbsolutePath().normalize(), resolving);
+        remoteModel.managedDependencies(resolving).values()
+                .forEach(dep -> remoteVersions.putIfAbsent(managementKey(dep), dep.getVersion()));
+        remoteModel.dependencies(resolving).forEach(dep -> remoteVersions.putIfAbsent(managementKey(dep), dep.getVersion()));
+        LOG.info("Comparing " + reactorPoms.size() + " modules with " + remoteVersions.size() + " artifacts of remote BOM " + remoteBom);
+
+        List<Path> reportedPoms = reactorPoms.stream().filter(this::isReported).toList();
+        List<List<String[]>> differences = reportedPoms.parallelStream()
+                .map(pom -> compareModule(pom, remoteVersions))
+                .toList();
+        for (List<String[]> moduleDifferences : differences) {
+            for (String[] difference : moduleDifferences) {
+                consumer.accept(difference[0], difference[1], difference[2]);
+            }
+        }
+    }
+
+    /**
+     * @return parents and imported BOMs in format `groupId:artifactId:version` which couldn't be found or downloaded
+     * or which are part of a cycle
+     */
+    public Set<String> getUnresolvedPoms() {
+        return new TreeSet<>(unresolvedPoms);
+    }
+
+    private boolean isReported(Path pom) {
+        String relativeDirectory = quarkusRepoDirectory.relativize(pom.getParent()).toString();
+        return REPORTED_ROOTS.stream().anyMatch(relativeDirectory::startsWith);
+    }
+
+    private List<String[]> compareModule(Path pom, Map<String, String> remoteVersions) {
+        Resolving resolving = new Resolving();
+        EffectiveModel model = effectiveModel(pom, resolving);
+        String location = "/" + quarkusRepoDirectory.relativize(pom.getParent()) + "/";
+        Collection<Dependency> managed = model.managedDependencies(resolving).values();
+        List<Dependency> dependencies = new ArrayList<>(managed);
+        dependencies.addAll(model.dependencies(resolving));
+
+        // same difference for a managed dependency and a dependency is reported once
+        Set<String> reported = new LinkedHashSet<>();
+        List<String[]> differences = new ArrayList<>();
+        for (Dependency dependency : dependencies) {
+            String remoteVersion = remoteVersions.get(managementKey(dependency));
+            if (dependency.getVersion() != null && remoteVersion != null && !dependency.getVersion().equals(remoteVersion)) {
+                String artifact = dependency.getGroupId() + ":" + dependency.getArtifactId();
+                String versions = dependency.getVersion() + " -> " + remoteVersion;
+                if (reported.add(artifact + " " + versions)) {
+                    differences.add(new String[] { artifact, location, versions });
+                }
+            }
+        }
+        return differences;
+    }
+
+    /**
+     * Collect the reactor modules from the root POM through `modules`, including the ones of profiles active by
+     * default or activated by an absent property as in a plain `mvn` invocation.
+     */
+    private void loadReactor() {
+        if (!reactorPoms.isEmpty()) {
+            return;
+        }
+        List<Path> level = List.of(quarkusRepoDirectory.resolve(POM_FILE_NAME));
+        Set<Path> visited = new LinkedHashSet<>();
+        while (!level.isEmpty()) {
+            level.parallelStream().forEach(this::rawModel);
+            List<Path> nextLevel = new ArrayList<>();
+            for (Path pom : level) {
+                if (!visited.add(pom)) {
+                    continue;
+                }
+                Model model = rawModel(pom);
+                reactorPoms.add(pom);
+                reactorPomsByGav.put(gav(model), pom);
+                for (String module : modules(model)) {
+                    Path modulePom = pom.getParent().resolve(module).normalize();
+                    if (Files.isDirectory(modulePom)) {
+                        modulePom = modulePom.resolve(POM_FILE_NAME);
+                    }
+                    if (Files.isRegularFile(modulePom)) {
+                        nextLevel.add(modulePom);
+                    } else {
+                        LOG.fine("Module " + module + " of " + pom + " doesn't exist");
+                    }
+                }
+            }
+            level = nextLevel;
+        }
+        LOG.info("Loaded " + reactorPoms.size() + " reactor modules of " + quarkusRepoDirectory);
+    }
+
+    private static Set<String> modules(Model model) {
+        Set<String> modules = new LinkedHashSet<>(model.getModules());
+        for (Profile profile : model.getProfiles()) {
+            if (isActiveByDefault(profile.getActivation())) {
+                modules.addAll(profile.getModules());
+            }
+        }
+        return modules;
+    }
+
+    private static boolean isActiveByDefault(Activation activation) {
+        if (activation == null) {
+            return false;
+        }
+        if (activation.isActiveByDefault()) {
+            return true;
+        }
+        return activation.getProperty() != null && activation.getProperty().getName() != null
+                && activation.getProperty().getName().startsWith("!")
+                && activation.getJdk() == null && activation.getOs() == null && activation.getFile() == null
+                && System.getProperty(activation.getProperty().getName().substring(1)) == null;
+    }
+
+    private Model rawModel(Path pom) {
+        Model model = rawModels.get(pom);
+        if (model == null) {
+            try (Reader reader = Files.newBufferedReader(pom)) {
+                model = new MavenXpp3Reader().read(reader, false);
+            } catch (IOException | XmlPullParserException e) {
+                throw new RuntimeException("Unable to read POM " + pom + ". Log: " + e, e);
+            }
+            rawModels.putIfAbsent(pom, model);
+        }
+        return model;
+    }
+
+    /**
+     * @return memoized model with the inherited properties, managed dependencies and dependencies,
+     * `null` if the POM is its own parent through the resolved ones
+     */
+    private EffectiveModel effectiveModel(Path pom, Resolving resolving) {
+        EffectiveModel model = effectiveModels.get(pom);
+        if (model == null) {
+            if (!resolving.poms.add(pom)) {
+                cycle(pom, resolving);
+                return null;
+            }
+            int brokenCycles = resolving.brokenCycles;
+            try {
+                model = new EffectiveModel(pom, rawModel(pom), parentPom(pom, rawModel(pom)), resolving);
+            } finally {
+                resolving.poms.remove(pom);
+            }
+            if (resolving.brokenCycles != brokenCycles) {
+                return model;
+            }
+            EffectiveModel existing = effectiveModels.putIfAbsent(pom, model);
+            model = existing == null ? model : existing;
+        }
+        return model;
+    }
+
+    private void cycle(Path pom, Resolving resolving) {
+        resolving.brokenCycles++;
+        String gav = gav(rawModel(pom));
+        if (unresolvedPoms.add(gav)) {
+            LOG.warning("Cyclic parent or BOM import of " + gav + " in " + pom
+                    + ", the cycle is broken and the report is incomplete");
+        }
+    }
+
+    /**
+     * @return parent POM from the relative path, the reactor or the local repository, `null` if it can't be found
+     */
+    private Path parentPom(Path pom, Model model) {
+        Parent parent = model.getParent();
+        if (parent == null) {
+            return null;
+        }
+        String relativePath = parent.getRelativePath() == null ? "../" + POM_FILE_NAME : parent.getRelativePath();
+        if (!relativePath.isBlank()) {
+            Path candidate = pom.getParent().resolve(relativePath).normalize();
+            if (Files.isDirectory(candidate)) {
+                candidate = candidate.resolve(POM_FILE_NAME);
+            }
+            if (Files.isRegularFile(candidate)) {
+                Model candidateModel = rawModel(candidate);
+                if (parent.getGroupId().equals(groupId(candidateModel)) && parent.getArtifactId().equals(candidateModel.getArtifactId())
+                        && parent.getVersion().equals(version(candidateModel))) {
+                    return candidate;
+                }
+            }
+        }
+        return findPom(parent.getGroupId(), parent.getArtifactId(), parent.getVersion());
+    }
+
+    private Path findPom(String groupId, String artifactId, String version) {
+        Path reactorPom = reactorPomsByGav.get(groupId + ":" + artifactId + ":" + version);
+        if (reactorPom != null) {
+            return reactorPom;
+        }
+        Path repositoryPom = PrepareOperation.getRepositoryPom(localRepository, groupId, artifactId, version);
+        if (Files.isRegularFile(repositoryPom)) {
+            return repositoryPom;
+        }
+        // downloaded once, modules sharing a missing parent or BOM wait for the first download
+        String gav = groupId + ":" + artifactId + ":" + version;
+        return downloadedPoms.computeIfAbsent(gav, key -> {
+            Path pom = version == null || version.contains("${") ? null
+                    : PrepareOperation.downloadPom(localRepository, groupId, artifactId, version);
+            if (pom == null) {
+                LOG.warning("POM " + key + " not found in the reactor, the local repository or the remote repositories, "
+                        + "its managed dependencies are not compared");
+                unresolvedPoms.add(key);
+            }
+            return Optional.ofNullable(pom);
+        }).orElse(null);
+    }
+
+    /**
+     * @return interpolated managed dependencies of an imported BOM, empty if the BOM can't be found
+     */
+    private Map<String, Dependency> importedBom(String groupId, String artifactId, String version, Resolving resolving) {
+        String gav = groupId + ":" + artifactId + ":" + version;
+        Map<String, Dependency> managed = importedBoms.get(gav);
+        if (managed == null) {
+            int brokenCycles = resolving.brokenCycles;
+            Path bom = findPom(groupId, artifactId, version);
+            EffectiveModel bomModel = bom == null ? null : effectiveModel(bom, resolving);
+            managed = bomModel == null ? null : bomModel.managedDependencies(resolving);
+            if (managed == null) {
+                managed = Map.of();
+            }
+            if (resolving.brokenCycles == brokenCycles) {
+                importedBoms.putIfAbsent(gav, managed);
+            }
+        }
+        return managed;
+    }
+
+    private static String groupId(Model model) {
+        return model.getGroupId() == null && model.getParent() != null ? model.getParent().getGroupId() : model.getGroupId();
+    }
+
+    private static String version(Model model) {
+        return model.getVersion() == null && model.getParent() != null ? model.getParent().getVersion() : model.getVersion();
+    }
+
+    private static String gav(Model model) {
+        return groupId(model) + ":" + model.getArtifactId() + ":" + version(model);
+    }
+
+    private static String managementKey(Dependency dependency) {
+        String type = dependency.getType() == null ? DEFAULT_TYPE : dependency.getType();
+        return dependency.getGroupId() + ":" + dependency.getArtifactId() + ":" + type
+                + (dependency.getClassifier() == null || dependency.getClassifier().isEmpty() ? "" : ":" + dependency.getClassifier());
+    }
+
+    /**
+     * Parents and BOMs being resolved for one module, to stop at cycles.
+     */
+    private static final class Resolving {
+        private final Set<Path> poms = new HashSet<>();
+        private int brokenCycles;
+    }
+
+    /**
+     * POM with its parents applied. Managed dependencies and dependencies are kept raw as inherited and interpolated
+     * with the properties of this POM when asked for, as Maven interpolates the model after inheritance.
+     */
+    private class EffectiveModel {
+        private final Path pom;
+        private final Map<String, String> properties = new HashMap<>();
+        private final Map<String, Dependency> rawManaged = new LinkedHashMap<>();
+        private final List<Dependency> rawDependencies = new ArrayList<>();
+        private volatile Map<String, Dependency> managed;
+
+        private EffectiveModel(Path pom, Model model, Path parentPom, Resolving resolving) {
+            this.pom = pom;
+            EffectiveModel parent = parentPom == null ? null : effectiveModel(parentPom, resolving);
+            if (parent != null) {
+                properties.putAll(parent.properties);
+                rawDependencies.addAll(parent.rawDependencies);
+            }
+            model.getProperties().forEach((key, value) -> properties.put(String.valueOf(key), String.valueOf(value)));
+            for (String prefix : new String[] { "project.", "pom." }) {
+                properties.put(prefix + "groupId", groupId(model));
+                properties.put(prefix + "artifactId", model.getArtifactId());
+                properties.put(prefix + "version", version(model));
+                if (model.getParent() != null) {
+                    properties.put(prefix + "parent.groupId", model.getParent().getGroupId());
+                    properties.put(prefix + "parent.artifactId", model.getParent().getArtifactId());
+                    properties.put(prefix + "parent.version", model.getParent().getVersion());
+                }
+            }
+            // declared entries before inherited ones as Maven merges them, so BOMs imported by this POM
+            // are applied before the ones imported by its parents
+            if (model.getDependencyManagement() != null) {
+                for (Dependency dependency : model.getDependencyManagement().getDependencies()) {
+                    // keyed before interpolation, a child declaration overrides the inherited one
+                    rawManaged.put(managementKey(dependency), dependency);
+                }
+            }
+            if (parent != null) {
+                parent.rawManaged.forEach(rawManaged::putIfAbsent);
+            }
+            rawDependencies.addAll(model.getDependencies());
+        }
+
+        /**
+         * Computed without holding a lock, so threads entering a cycle of imports from its opposite ends
+         * don't wait for each other, the first result is kept.
+         *
+         * @return interpolated managed dependencies by management key, entries of imported BOMs are added
+         * after the declared and inherited ones when their key isn't managed yet, the first imported BOM wins,
+         * `null` if the POM imports itself through the resolved ones
+         */
+        private Map<String, Dependency> managedDependencies(Resolving resolving) {
+            if (managed != null) {
+                return managed;
+            }
+            if (!resolving.poms.add(pom)) {
+                cycle(pom, resolving);
+                return null;
+            }
+            int brokenCycles = resolving.brokenCycles;
+            Map<String, Dependency> result;
+            try {
+                result = resolveManagedDependencies(resolving);
+            } finally {
+                resolving.poms.remove(pom);
+            }
+            if (resolving.brokenCycles != brokenCycles) {
+                return result;
+            }
+            synchronized (this) {
+                if (managed == null) {
+                    managed = result;
+                }
+                return managed;
+            }
+        }
+
+        private Map<String, Dependency> resolveManagedDependencies(Resolving resolving) {
+            Map<String, Dependency> result = new LinkedHashMap<>();
+            List<Dependency> imports = new ArrayList<>();
+            for (Dependency raw : rawManaged.values()) {
+                Dependency dependency = interpolate(raw);
+                if ("import".equals(dependency.getScope()) && "pom".equals(dependency.getType())) {
+                    imports.add(dependency);
+                } else {
+                    result.putIfAbsent(managementKey(dependency), dependency);
+                }
+            }
+            for (Dependency bom : imports) {
+                importedBom(bom.getGroupId(), bom.getArtifactId(), bom.getVersion(), resolving).forEach(result::putIfAbsent);
+            }
+            return result;
+        }
+
+        /**
+         * @return interpolated dependencies with the managed versions applied to the ones without a version
+         */
+        private List<Dependency> dependencies(Resolving resolving) {
+            Map<String, Dependency> managedDependencies = managedDependencies(resolving);
+            return rawDependencies.stream().map(raw -> {
+                Dependency dependency = interpolate(raw);
+                if (dependency.getVersion() == null) {
+                    Dependency managedDependency = managedDependencies.get(managementKey(dependency));
+                    if (managedDependency != null) {
+                        dependency.setVersion(managedDependency.getVersion());
+                    }
+                }
+                return dependency;
+            }).collect(Collectors.toList());
+        }
+
+        private Dependency interpolate(Dependency raw) {
+            Dependency dependency = raw.clone();
+            dependency.setGroupId(interpolate(raw.getGroupId(), 0));
+            dependency.setArtifactId(interpolate(raw.getArtifactId(), 0));
+            dependency.setVersion(interpolate(raw.getVersion(), 0));
+            dependency.setType(interpolate(raw.getType(), 0));
+            dependency.setClassifier(interpolate(raw.getClassifier(), 0));
+            dependency.setScope(interpolate(raw.getScope(), 0));
+            return dependency;
+        }
+
+        private String interpolate(String value, int depth) {
+            if (value == null || depth > MAX_INTERPOLATION_DEPTH || !value.contains("${")) {
+                return value;
+            }
+            StringBuilder result = new StringBuilder(value.length());
+            int position = 0;
+            int start = value.indexOf("${");
+            while (start >= 0) {
+                int end = value.indexOf('}', start);
+                if (end < 0) {
+                    break;
+                }
+                String replacement = properties.get(value.substring(start + 2, end));
+                result.append(value, position, start);
+                result.append(replacement == null ? value.substring(start, end + 1) : interpolate(replacement, depth + 1));
+                position = end + 1;
+                start = value.indexOf("${", position);
+            }
+            result.append(value, position, value.length());
+            return result.toString();
+        }
+    }
+}
@@ -1,16 +1,21 @@
 package io.quarkus.qe;
 
 import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
 
-import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
@@ -47,6 +52,7 @@ public class GenerateVersionDiffReport {
             </style>
             <body>
             <div><h1>Compared Quarkus versions substitute-quarkus-upstream vs substitute-quarkus-rhbq</h1></div>
+            substitute-warning
             <div>
                 <table>""";
 
@@ -58,22 +64,34 @@ public class GenerateVersionDiffReport {
                 <p>Generated on substitute-date</p>
             </footer>
             </html>""";
+    // Pattern for artifact in format <groupID>:<artifactID>
+    private static final Pattern ARTIFACT_PATTERN = Pattern.compile("[\\w.-]+:[\\w.-]+");
+    // Pattern toma match version in format `<upstream_version> -> <downstream_version>`
+    private static final Pattern VERSIONS_PATTERN = Pattern.compile("[\\S\\d.]+.->.+");
+
+    // Build output and tooling directories which never contain versions plugin output of a module
+    private static final Set<String> SKIPPED_DIRECTORIES = Set.of("target", "node_modules");
+
     public TreeMap<String, Artifact> differentArtifacts = new TreeMap<>();
 
     Map<String, List<String>> allowedArtifacts;
+    private final AllowedArtifactsMatcher allowedArtifactsMatcher;
 
     private boolean majorMinorVersionDiffer = false;
     private boolean patchOrOthersVersionDiffer = false;
+    // parents and BOMs the in-process comparison couldn't resolve, differences of their managed dependencies are missing
+    private Set<String> unresolvedPoms = Set.of();
 
     private final Path quarkusRepoDirectory;
 
     public GenerateVersionDiffReport(Path quarkusRepoDirectory, AllowedArtifacts allowedArtifactsFile) {
         this.quarkusRepoDirectory = quarkusRepoDirectory;
         this.allowedArtifacts = PrepareOperation.createAllowedHashMap(allowedArtifactsFile);
+        this.allowedArtifactsMatcher = allowedArtifacts != null ? new AllowedArtifactsMatcher(allowedArtifacts) : null;
     }
 
     /**
-     * Method load the generated files from versions plugin.
+     * Method compare the Quarkus modules with platform bom or load the generated files from versions plugin.
      * Parse file to found the artifact and it's version.
      * Version of the artifact are compared and if they are not the same the artifact and its version are added to map
      * where the key is name of the artifact.
@@ -81,40 +99,95 @@ public class GenerateVersionDiffReport {
      * When map with artifacts which differ in version is loaded, simple and detailed html report is created.
      */
     public void generateReport() {
-        List<Path> dependencyDiffFiles = generateListOfDiffFiles();
-        // Pattern for artifact in format <groupID>:<artifactID>
-        Pattern artifactPattern = Pattern.compile("[\\w.-]+:[\\w.-]+");
-        // Pattern toma match version in format `<upstream_version> -> <downstream_version>`
-        Pattern versionsPattern = Pattern.compile("[\\S\\d.]+.->.+");
-
-        for (Path path : dependencyDiffFiles) {
-            try (Stream<String> lines = Files.lines(path)) {
-                lines.forEach(line -> {
-                    // Check the line of file which was generated from versions plugin
-                    // Line should contain artifact and version in format <groupID>:<artifactID> .... <upstream_version> -> <downstream_version>
-                    Matcher artifactMatcher = artifactPattern.matcher(line);
-                    Matcher versionsMatcher = versionsPattern.matcher(line);
-                    if (artifactMatcher.matches() && !versionsMatcher.matches()) {
-                        throw new RuntimeException("Matcher not found");
-                    }
-                    if (artifactMatcher.find() && versionsMatcher.find()) {
-                        String versionsTogether = versionsMatcher.group();
-                        String artifact = artifactMatcher.group();
-                        if (!Artifact.versionComparator(artifact, versionsTogether)) {
-                            addToDifferentArtifacts(artifact,
-                                    path.toString().replace(quarkusRepoDirectory.toString(), "").replace(VERSION_PLUGIN_OUTPUT_FILE_NAME, ""),
-                                    versionsTogether);
-                        }
-                    }
-                });
-            } catch (IOException e) {
-                throw new RuntimeException("Error when reading diff file lines for different dependencies. Error log: " + e);
-            }
+        if (PrepareOperation.useBomOnly()) {
+            compareBoms();
+        } else if (PrepareOperation.useVersionsPlugin()) {
+            loadVersionPluginOutput();
+        } else {
+            compareDependencies();
         }
         generateSimpleOverview();
         generateOverview();
     }
 
+    /**
+     * Compare modules of Quarkus repository with platform bom in-process, this gives the same differences
+     * as `mvn versions:compare-dependencies` without running Maven
+     */
+    public void compareDependencies() {
+        CompareDependencies compareDependencies = new CompareDependencies(quarkusRepoDirectory,
+                Paths.get(PrepareOperation.getLocalRepository()));
+        compareDependencies.compare(PrepareOperation.getPlatformBom(), (artifact, location, versionsTogether) -> {
+            if (!Artifact.versionComparator(artifact, versionsTogether)) {
+                addToDifferentArtifacts(artifact, location, versionsTogether);
+            }
+        });
+        unresolvedPoms = compareDependencies.getUnresolvedPoms();
+        if (!unresolvedPoms.isEmpty()) {
+            LOG.warning("Report is incomplete, " + unresolvedPoms.size() + " parents and BOMs couldn't be resolved: " + unresolvedPoms);
+        }
+    }
+
+    /**
+     * Compare only managed versions of upstream and RHBQ platform boms, no Quarkus repository is needed.
+     * The location of every different artifact is the upstream platform bom.
+     */
+    public void compareBoms() {
+        try {
+            PomComparator pomComparator = new PomComparator();
+            pomComparator.comparePoms();
+            String location = "io.quarkus.platform:quarkus-bom:" + PrepareOperation.upstreamVersion;
+            pomComparator.getDifferentVersions().forEach((artifact, versionsTogether) -> {
+                if (!Artifact.versionComparator(artifact, versionsTogether)) {
+                    addToDifferentArtifacts(artifact, location, versionsTogether);
+                }
+            });
+        } catch (IOException | XmlPullParserException e) {
+            throw new RuntimeException("Error when comparing platform boms. Error log: " + e);
+        }
+    }
+
+    /**
+     * Load the files generated by versions plugin and add artifacts with different versions to the map.
+     * Files are parsed in parallel, the differences are added to the map in the order of the files and their lines,
+     * so the report is the same as when the files are read one by one.
+     */
+    public void loadVersionPluginOutput() {
+        List<Path> dependencyDiffFiles = generateListOfDiffFiles();
+        List<VersionDifference> differences = dependencyDiffFiles.parallelStream()
+                .flatMap(path -> parseVersionPluginOutput(path).stream())
+                .filter(difference -> !Artifact.versionComparator(difference.artifact(), difference.versions()))
+                .toList();
+        differences.forEach(difference -> addToDifferentArtifacts(difference.artifact(), difference.location(), difference.versions()));
+    }
+
+    /**
+     * Parse one file generated by versions plugin
+     * @param path path to the `depDiffs.txt` file
+     * @return all different artifacts of the file in order of lines
+     */
+    private List<VersionDifference> parseVersionPluginOutput(Path path) {
+        String location = path.toString().replace(quarkusRepoDirectory.toString(), "").replace(VERSION_PLUGIN_OUTPUT_FILE_NAME, "");
+        List<VersionDifference> differences = new ArrayList<>();
+        try (Stream<String> lines = Files.lines(path)) {
+            lines.forEach(line -> {
+                // Check the line of file which was generated from versions plugin
+                // Line should contain artifact and version in format <groupID>:<artifactID> .... <upstream_version> -> <downstream_version>
+                Matcher artifactMatcher = ARTIFACT_PATTERN.matcher(line);
+                Matcher versionsMatcher = VERSIONS_PATTERN.matcher(line);
+                if (artifactMatcher.matches() && !versionsMatcher.matches()) {
+                    throw new RuntimeException("Matcher not found");
+                }
+                if (artifactMatcher.find() && versionsMatcher.find()) {
+                    differences.add(new VersionDifference(artifactMatcher.group(), location, versionsMatcher.group()));
+                }
+            });
+        } catch (IOException e) {
+            throw new RuntimeException("Error when reading diff file lines for different dependencies. Error log: " + e);
+        }
+        return differences;
+    }
+
     /**
      * Generate simple report containing only artifact name and different versions
      * This output is saved in outputDiff.html file as table
@@ -135,8 +208,7 @@ public class GenerateVersionDiffReport {
 
         LOG.info("Generating simple diff report");
         try(FileWriter fw = new FileWriter("outputDiff.html")) {
-            fw.write(HTML_BASE_START.replace("substitute-quarkus-upstream", PrepareOperation.upstreamVersion)
-                    .replace("substitute-quarkus-rhbq", PrepareOperation.rhbqVersion));
+            fw.write(htmlBaseStart());
             fw.write(tableHeader);
             for (String artifact : differentArtifacts.keySet()) {
                 List<String> versions = differentArtifacts.get(artifact).getDifferentVersions();
@@ -176,8 +248,7 @@ public class GenerateVersionDiffReport {
 
         LOG.info("Generating detailed diff report");
         try(FileWriter fw = new FileWriter("outputDiffDetailed.html")) {
-            fw.write(HTML_BASE_START.replace("substitute-quarkus-upstream", PrepareOperation.upstreamVersion)
-                    .replace("substitute-quarkus-rhbq", PrepareOperation.rhbqVersion));
+            fw.write(htmlBaseStart());
             fw.write(tableHeader);
             for (String artifact : differentArtifacts.keySet()) {
                 List<String> versions = differentArtifacts.get(artifact).getDifferentVersions();
@@ -196,21 +267,56 @@ public class GenerateVersionDiffReport {
     }
 
     /**
-     * Generate list of files generated by versions-maven-plugin inside of Quarkus repository
-     * @return List of paths to generated files
+     * @return start of html report, with the warning about unresolved parents and BOMs when the report is incomplete
+     */
+    private String htmlBaseStart() {
+        String warning = unresolvedPoms.isEmpty() ? ""
+                : "<div class=\"older\"><p>Incomplete report, these parents and BOMs couldn't be resolved: "
+                + String.join(", ", unresolvedPoms) + "</p></div>";
+        return HTML_BASE_START.replace("substitute-quarkus-upstream", PrepareOperation.upstreamVersion)
+                .replace("substitute-quarkus-rhbq", PrepareOperation.rhbqVersion)
+                .replace("substitute-warning", warning);
+    }
+
+    /**
+     * Generate list of files generated by versions-maven-plugin inside of Quarkus repository.
+     * Only the reported roots are walked, each one in parallel, build output and hidden directories are skipped.
+     * @return List of paths to generated files sorted by path
      */
     public List<Path> generateListOfDiffFiles() {
-        try (Stream<Path> entries = Files.walk(quarkusRepoDirectory)) {
-            return entries.filter(Files::isRegularFile)
-                    .filter(f -> f.getFileName().toString().contains(VERSION_PLUGIN_OUTPUT_FILE_NAME) &&
-                            (f.toAbsolutePath().toString().contains(quarkusRepoDirectory + File.separator + "bom") ||
-                                    f.toAbsolutePath().toString().contains(quarkusRepoDirectory + File.separator + "core") ||
-                                    f.toAbsolutePath().toString().contains(quarkusRepoDirectory + File.separator + "extensions") ||
-                                    f.toAbsolutePath().toString().contains(quarkusRepoDirectory + File.separator + "test-framework")))
-                    .toList();
+        return CompareDependencies.REPORTED_ROOTS.parallelStream()
+                .map(quarkusRepoDirectory::resolve)
+                .filter(Files::isDirectory)
+                .flatMap(root -> findDiffFiles(root).stream())
+                .sorted()
+                .toList();
+    }
+
+    private static List<Path> findDiffFiles(Path root) {
+        List<Path> diffFiles = new ArrayList<>();
+        try {
+            Files.walkFileTree(root, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                    String name = dir.getFileName().toString();
+                    if (!dir.equals(root) && (name.startsWith(".") || SKIPPED_DIRECTORIES.contains(name))) {
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    if (attrs.isRegularFile() && file.getFileName().toString().equals(VERSION_PLUGIN_OUTPUT_FILE_NAME)) {
+                        diffFiles.add(file);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
         } catch (IOException e) {
             throw new RuntimeException("Error when generating list of diff files. Error log: " + e);
         }
+        return diffFiles;
     }
 
     /**
@@ -280,13 +386,14 @@ public class GenerateVersionDiffReport {
      * @param downstreamVersion downstream artifact version e.g. `1.15.0.redhat-00001`
      */
     public void isAllowedWithDifferentVersion(boolean majorMinor, String artifact, String downstreamVersion) {
-        if (!isArtifactAllowed(artifact)) {
+        List<String> allowedVersions = allowedArtifactsMatcher.findVersions(artifact);
+        if (allowedVersions == null) {
             setMajorMinorPatch(majorMinor);
             return;
         }
 
         boolean versionContainsAllowed = false;
-        for (String version : findArtifactVersion(artifact)) {
+        for (String version : allowedVersions) {
             if (downstreamVersion.contains(version)) {
                 versionContainsAllowed = true;
                 break;
@@ -298,43 +405,26 @@ public class GenerateVersionDiffReport {
     }
 
     /**
-     * Looking for artifact, first it will try direct lookup. If artifact not found it go through all allowed artifact
-     * and try if some of them matching allowed pattern.
+     * Looking for artifact, first it will try direct lookup. If artifact not found it try the compiled pattern
+     * of all allowed artifacts containing `*`.
      *
      * @param artifact artifact which should be looked up
      * @return true if the artifact is in allowed list
      */
     public boolean isArtifactAllowed(String artifact) {
-        if (allowedArtifacts.containsKey(artifact)) {
-            return true;
-        }
-        for (String key : allowedArtifacts.keySet()) {
-            // There is a need to replace the `*` to this be valid RegEx. If there is only `*` it will match only last char
-            if (artifact.matches(key.replace("*", ".*"))){
-                return true;
-            }
-        }
-        return false;
+        return allowedArtifactsMatcher.findVersions(artifact) != null;
     }
 
     /**
-     * Looking for artifact, first it will try direct lookup. If artifact not found it go through all allowed artifact
-     * and try match RegEx.
+     * Looking for artifact, first it will try direct lookup. If artifact not found it try the compiled pattern
+     * of all allowed artifacts containing `*`, the first matching one in order of allowed artifacts file is used.
      *
      * @param artifact artifact which should be looked up
      * @return list of allowed version of that specific artifact, if not found return empty list
      */
     public List<String> findArtifactVersion(String artifact) {
-        if (allowedArtifacts.containsKey(artifact)) {
-            return allowedArtifacts.get(artifact);
-        }
-        for (String key : allowedArtifacts.keySet()) {
-            // There is a need to replace the `*` to this be valid RegEx. If there is only `*` it will match only last char
-            if (artifact.matches(key.replace("*", ".*"))){
-                return allowedArtifacts.get(key);
-            }
-        }
-        return new ArrayList<>();
+        List<String> allowedVersions = allowedArtifactsMatcher.findVersions(artifact);
+        return allowedVersions != null ? allowedVersions : new ArrayList<>();
     }
 
     public void setMajorMinorPatch(boolean majorMinor) {
@@ -353,4 +443,14 @@ public class GenerateVersionDiffReport {
     public boolean isPatchOrOthersVersionDiffer() {
         return patchOrOthersVersionDiffer;
     }
+
+    public Set<String> getUnresolvedPoms() {
+        return unresolvedPoms;
+    }
+
+    /**
+     * Artifact with different versions found in the module location
+     */
+    private record VersionDifference(String artifact, String location, String versions) {
+    }
 }
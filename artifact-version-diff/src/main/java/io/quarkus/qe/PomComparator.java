@@ -12,6 +12,7 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.function.Function;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -22,6 +23,7 @@ public class PomComparator {
     private Path rhbqPlatformBom;
     private Map<String, Dependency> rhbqPlatformBomDependencies;
     private List<Dependency> missingDependencies = new ArrayList<>();
+    private final Map<String, String> differentVersions = new TreeMap<>();
 
     private static final Logger LOG = Logger.getLogger(PomComparator.class.getName());
 
@@ -31,7 +33,8 @@ public class PomComparator {
 
     public void preparePlatformBoms() throws IOException {
         upstreamPlatformBom = PrepareOperation.getUpstreamBom();
-        rhbqPlatformBom = PrepareOperation.getRHBQBom();
+        // downloaded when missing, any groupId is accepted so upstream can be compared with upstream too
+        rhbqPlatformBom = PrepareOperation.getPlatformBom();
         if (!upstreamPlatformBom.toFile().exists() || !rhbqPlatformBom.toFile().exists()) {
             throw new FileNotFoundException("The upstream or RHBQ platform bom doesn't exist");
         }
@@ -39,9 +42,9 @@ public class PomComparator {
 
     /**
      * Load upstream and RHBQ platform boms and compare them. It creates List for RHBQ missing upstream defined artifacts,
-     * List for RHBQ additional/extra artifacts and List for artifacts with different versions.
-     * The different version should be same as version comparison in GenerateVersionDiffReport.
-     * However, this check is not that thorough as in GenerateVersionDiffReport
+     * List for RHBQ additional/extra artifacts and Map for artifacts with different managed versions.
+     * The different versions are used by GenerateVersionDiffReport when only platform boms are compared,
+     * without checking all Quarkus modules
      * @throws IOException
      * @throws XmlPullParserException
      */
@@ -70,14 +73,27 @@ public class PomComparator {
             if (key.contains("quarkus-bom-quarkus-platform")) {
                 key = key.replace("io.quarkus", "com.redhat.quarkus");
             }
-            if (!rhbqPlatformBomDependencies.containsKey(key)) {
+            Dependency rhbqDependency = rhbqPlatformBomDependencies.remove(key);
+            if (rhbqDependency == null) {
                 missingDependencies.add(dependency);
-            } else {
-                rhbqPlatformBomDependencies.remove(key);
+            } else if (isResolvedVersion(dependency.getVersion()) && isResolvedVersion(rhbqDependency.getVersion())
+                    && !dependency.getVersion().equals(rhbqDependency.getVersion())) {
+                // Same format as versions plugin output `<upstream_version> -> <downstream_version>`
+                differentVersions.put(dependency.getGroupId() + ":" + dependency.getArtifactId(),
+                        dependency.getVersion() + " -> " + rhbqDependency.getVersion());
             }
         }
     }
 
+    /**
+     * Platform boms are flattened, so the versions are expected to be already resolved
+     * @param version version of managed dependency
+     * @return false if version is missing or contains not interpolated property
+     */
+    private static boolean isResolvedVersion(String version) {
+        return version != null && !version.contains("${");
+    }
+
     /**
      *
      * @return mutable List of dependencies created from Map
@@ -89,4 +105,12 @@ public class PomComparator {
     public List<Dependency> getMissingDependencies() {
         return missingDependencies;
     }
+
+    /**
+     * @return map of upstream artifacts `groupId:artifactId` with different managed version in RHBQ platform bom,
+     * versions are in format `<upstream_version> -> <downstream_version>`
+     */
+    public Map<String, String> getDifferentVersions() {
+        return differentVersions;
+    }
 }
@@ -13,7 +13,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -31,11 +31,31 @@ public class PrepareOperation {
     public static String upstreamVersion;
 
     /**
-     * Clone Quarkus repository with specific tag and execute `mvn versions:compare-dependencies`
-     * @return path to directory which include Quarkus
+     * Check if the `mvn versions:compare-dependencies` should be used instead of the in-process {@link CompareDependencies}
+     * @return true if the `quarkus.versions-plugin` property is set to true
+     */
+    public static boolean useVersionsPlugin() {
+        return Boolean.getBoolean("quarkus.versions-plugin");
+    }
+
+    /**
+     * Check if only the managed versions of upstream and RHBQ platform boms should be compared, without cloning Quarkus
+     * @return true if the `quarkus.bom-only` property is set to true
+     */
+    public static boolean useBomOnly() {
+        return Boolean.getBoolean("quarkus.bom-only");
+    }
+
+    /**
+     * Clone Quarkus repository with specific tag and execute `mvn versions:compare-dependencies` if {@link #useVersionsPlugin()}
+     * @return path to directory which include Quarkus, null if {@link #useBomOnly()} as there is nothing to clone
      * @throws IOException
      */
     public static Path prepareVersionPluginOutput() throws IOException {
+        if (useBomOnly()) {
+            LOG.info("Comparing only platform boms, skipping Quarkus repository clone");
+            return null;
+        }
         String generatedRandomDirName = "artifact-comparison-" + RandomStringUtils.randomAlphabetic(5);
         Path tmpDirectory = Files.createDirectories(Paths.get(System.getProperty("java.io.tmpdir"), generatedRandomDirName));
 
@@ -44,32 +64,42 @@ public class PrepareOperation {
         List<String> gitCloneQuarkus = new ArrayList<>(
                 Arrays.asList("git", "clone", "--single-branch", "--branch", branch, "https://github.com/quarkusio/quarkus.git"));
         executeProcess(gitCloneQuarkus, "Failed to clone Quarkus repository", tmpDirectory);
+        Path quarkusRepoDirectory = Paths.get(tmpDirectory.toAbsolutePath().toString(), "quarkus");
+        if (!useVersionsPlugin()) {
+            return quarkusRepoDirectory;
+        }
 
         LOG.info("Executing mvn versions:compare-dependencies");
         List<String> mvnVersionsExecute = new ArrayList<>(Arrays.asList("mvn", "versions:compare-dependencies"));
         mvnVersionsExecute.addAll(prepareMavenProperties());
-        Path quarkusRepoDirectory = Paths.get(tmpDirectory.toAbsolutePath().toString(), "quarkus");
         executeProcess(mvnVersionsExecute, "Failed to add remote origin", quarkusRepoDirectory);
 
         return quarkusRepoDirectory;
     }
 
     public static void executeProcess(List<String> command, String errorMsg, Path path) {
+        StringBuilder output = new StringBuilder();
+        int exitValue = runProcess(command, errorMsg, path, output);
+        assertEquals(0, exitValue, errorMsg + ". Output : " + output);
+    }
+
+    /**
+     * @return exit value of the process, its output is appended to the given builder
+     */
+    private static int runProcess(List<String> command, String errorMsg, Path path, StringBuilder output) {
         ProcessBuilder builder = new ProcessBuilder(command);
         builder.directory(path.toFile());
         try {
             Process process = builder.redirectErrorStream(true)
                     .directory(path.toFile())
                     .start();
-            StringBuilder output = new StringBuilder();
             try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
                 String line;
                 while ((line = reader.readLine()) != null) {
                     output.append(line).append("\n");
                 }
             }
-            process.waitFor();
-            assertEquals(0, process.exitValue(), errorMsg + ". Output : " + output);
+            return process.waitFor();
         } catch (IOException | InterruptedException e) {
             throw new RuntimeException(errorMsg, e);
         }
@@ -108,40 +138,88 @@ public class PrepareOperation {
     }
 
     /**
-     * Download the upstream platform bom and return its path
+     * @return path of the POM in the local repository, it doesn't need to exist
+     */
+    public static Path getRepositoryPom(Path localRepository, String groupId, String artifactId, String version) {
+        return Paths.get(localRepository.toString(), groupId.split("\\."))
+                .resolve(artifactId).resolve(version).resolve(artifactId + "-" + version + ".pom");
+    }
+
+    /**
+     * Download POM to the local repository by `mvn dependency:get`, its parents and imported BOMs are downloaded too
+     * @return path to downloaded POM, null if it can't be downloaded
+     */
+    public static Path downloadPom(Path localRepository, String groupId, String artifactId, String version) {
+        String gav = groupId + ":" + artifactId + ":" + version;
+        LOG.info("Executing mvn dependency:get for " + gav);
+        List<String> mvnDependencyGet = new ArrayList<>(
+                Arrays.asList("mvn", "dependency:get", "-Dartifact=" + gav + ":pom", "-Dtransitive=false",
+                        "-Dmaven.repo.local=" + localRepository));
+        StringBuilder output = new StringBuilder();
+        int exitValue = runProcess(mvnDependencyGet, "Failed to execute dependency:get for downloading " + gav,
+                Paths.get("").toAbsolutePath(), output);
+        Path pom = getRepositoryPom(localRepository, groupId, artifactId, version);
+        if (exitValue != 0 || !Files.isRegularFile(pom)) {
+            LOG.fine("Failed to download " + gav + ". Output : " + output);
+            return null;
+        }
+        return pom;
+    }
+
+    /**
+     * Download the upstream platform bom when it's not in local repository yet and return its path
      * @return path to downloaded platform bom
      */
     public static Path getUpstreamBom() {
-        LOG.info("Executing mvn dependency:get");
         upstreamVersion = Objects.requireNonNull(System.getProperty("quarkus.repo.tag"), "The quarkus.platform.bom wasn't set.");
+        Path upstreamBom = Paths.get(getLocalRepository(), "io", "quarkus", "platform", "quarkus-bom", upstreamVersion, "quarkus-bom-" + upstreamVersion + ".pom");
+        if (Files.isRegularFile(upstreamBom)) {
+            return upstreamBom;
+        }
 
+        LOG.info("Executing mvn dependency:get");
         List<String> mvnVersionsExecute = new ArrayList<>(
                 Arrays.asList("mvn", "dependency:get", "-Dartifact=io.quarkus.platform:quarkus-bom:" + upstreamVersion + ":pom",
                         "-Dmaven.repo.local=" + getLocalRepository()));
         executeProcess(mvnVersionsExecute, "Failed to execute dependency:get for downloading upstream platform bom.",
                 Paths.get("").toAbsolutePath());
 
-        return Paths.get(getLocalRepository(), "io", "quarkus", "platform", "quarkus-bom", upstreamVersion, "quarkus-bom-" + upstreamVersion + ".pom");
+        return upstreamBom;
     }
 
     /**
-     * Get RHBQ platform bom from local repository and return its path
+     * Get platform bom set by `quarkus.platform.bom` from local repository, download it when it's not there yet.
+     * This is the `remotePom` of the versions comparison.
      * @return path to platform bom
      */
-    public static Path getRHBQBom() {
+    public static Path getPlatformBom() {
         String platformBom = Objects.requireNonNull(System.getProperty("quarkus.platform.bom"), "The quarkus.platform.bom wasn't set.");
-        rhbqVersion = platformBom.substring(platformBom.lastIndexOf(":") + 1);
-        return Paths.get(getLocalRepository(), "com", "redhat", "quarkus", "platform", "quarkus-bom", rhbqVersion, "quarkus-bom-" + rhbqVersion + ".pom");
+        String[] gav = platformBom.split(":");
+        if (gav.length != 3) {
+            throw new IllegalArgumentException("The quarkus.platform.bom needs to be in format <groupID>:<artifactID>:version");
+        }
+        rhbqVersion = gav[2];
+        Path bom = getRepositoryPom(Paths.get(getLocalRepository()), gav[0], gav[1], gav[2]);
+        if (!Files.isRegularFile(bom)) {
+            LOG.info("Executing mvn dependency:get");
+            List<String> mvnDependencyGet = new ArrayList<>(
+                    Arrays.asList("mvn", "dependency:get", "-Dartifact=" + platformBom + ":pom", "-Dtransitive=false",
+                            "-Dmaven.repo.local=" + getLocalRepository()));
+            executeProcess(mvnDependencyGet, "Failed to execute dependency:get for downloading platform bom.",
+                    Paths.get("").toAbsolutePath());
+        }
+        return bom;
     }
 
     /**
-     * Creating the hashmap with artifacts and version which are allowed to have different version from upstream
+     * Creating the hashmap with artifacts and version which are allowed to have different version from upstream.
+     * The order of allowed artifacts file is kept as the first matching wildcard artifact is used.
      */
     public static Map<String, List<String>> createAllowedHashMap(AllowedArtifacts loadedAllowedArtifacts) {
         if (loadedAllowedArtifacts == null || loadedAllowedArtifacts.getVersionComparisonsArtifacts() == null) {
             return null;
         }
-        Map<String, List<String>> allowedArtifacts = new HashMap<>();
+        Map<String, List<String>> allowedArtifacts = new LinkedHashMap<>();
         for (AllowedArtifacts.AllowedArtifact allowedArtifact : loadedAllowedArtifacts.getVersionComparisonsArtifacts()) {
             if (!allowedArtifacts.containsKey(allowedArtifact.getArtifact())) {
                 allowedArtifacts.put(allowedArtifact.getArtifact(), new ArrayList<>());
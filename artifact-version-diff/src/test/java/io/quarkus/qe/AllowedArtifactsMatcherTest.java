@@ -0,0 +1,76 @@
+package io.quarkus.qe;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class AllowedArtifactsMatcherTest {
+
+    @Test
+    public void exactRuleIsFound() {
+        AllowedArtifactsMatcher matcher = matcher("org.acme:lib", "1.0", "org.acme:*", "2.0");
+        Assertions.assertEquals(List.of("1.0"), matcher.findVersions("org.acme:lib"));
+    }
+
+    @Test
+    public void exactRuleWinsOverEarlierWildcardRule() {
+        AllowedArtifactsMatcher matcher = matcher("org.acme:*", "2.0", "org.acme:lib", "1.0");
+        Assertions.assertEquals(List.of("1.0"), matcher.findVersions("org.acme:lib"));
+        Assertions.assertEquals(List.of("2.0"), matcher.findVersions("org.acme:other"));
+    }
+
+    @Test
+    public void firstMatchingWildcardRuleInFileOrderWins() {
+        AllowedArtifactsMatcher matcher = matcher(
+                "org.wildfly.security:wildfly-elytron*", "1.0",
+                "org.wildfly.*", "2.0",
+                "*", "3.0");
+        Assertions.assertEquals(List.of("1.0"), matcher.findVersions("org.wildfly.security:wildfly-elytron-realm"));
+        Assertions.assertEquals(List.of("2.0"), matcher.findVersions("org.wildfly.common:wildfly-common"));
+        Assertions.assertEquals(List.of("3.0"), matcher.findVersions("io.netty:netty-codec"));
+
+        AllowedArtifactsMatcher reversed = matcher(
+                "*", "3.0",
+                "org.wildfly.*", "2.0",
+                "org.wildfly.security:wildfly-elytron*", "1.0");
+        Assertions.assertEquals(List.of("3.0"), reversed.findVersions("org.wildfly.security:wildfly-elytron-realm"));
+    }
+
+    @Test
+    public void wildcardMatchesAnyCharactersAnywhere() {
+        AllowedArtifactsMatcher matcher = matcher("io.*:*-api", "1.0");
+        Assertions.assertEquals(List.of("1.0"), matcher.findVersions("io.opentelemetry:opentelemetry-api"));
+        Assertions.assertEquals(List.of("1.0"), matcher.findVersions("io.:-api"));
+        Assertions.assertNull(matcher.findVersions("io.opentelemetry:opentelemetry-api-incubator"));
+        Assertions.assertNull(matcher.findVersions("org.opentelemetry:opentelemetry-api"));
+    }
+
+    @Test
+    public void dotsAreMatchedLiterally() {
+        AllowedArtifactsMatcher matcher = matcher("org.acme:lib", "1.0", "io.netty:netty-*", "2.0");
+        Assertions.assertNull(matcher.findVersions("orgXacme:lib"));
+        Assertions.assertNull(matcher.findVersions("ioXnetty:netty-codec"));
+        Assertions.assertEquals(List.of("2.0"), matcher.findVersions("io.netty:netty-codec"));
+    }
+
+    @Test
+    public void noRuleMatches() {
+        Assertions.assertNull(matcher("org.acme:lib", "1.0").findVersions("org.acme:other"));
+        Assertions.assertNull(matcher("org.acme:*", "1.0").findVersions("org.other:lib"));
+        Assertions.assertNull(new AllowedArtifactsMatcher(Map.of()).findVersions("org.acme:lib"));
+    }
+
+    /**
+     * @param rulesAndVersions pairs of artifact rule and its allowed version, in order of the allowed artifacts file
+     */
+    private static AllowedArtifactsMatcher matcher(String... rulesAndVersions) {
+        Map<String, List<String>> allowedArtifacts = new LinkedHashMap<>();
+        for (int i = 0; i < rulesAndVersions.length; i += 2) {
+            allowedArtifacts.put(rulesAndVersions[i], List.of(rulesAndVersions[i + 1]));
+        }
+        return new AllowedArtifactsMatcher(allowedArtifacts);
+    }
+}
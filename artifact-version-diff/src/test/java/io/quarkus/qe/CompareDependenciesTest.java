@@ -0,0 +1,155 @@
+package io.quarkus.qe;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+public class CompareDependenciesTest {
+
+    @TempDir
+    Path quarkusRepoDirectory;
+
+    @TempDir
+    Path localRepository;
+
+    @Test
+    public void ownImportWinsOverImportInheritedFromParent() throws IOException {
+        Assertions.assertEquals("2.0 -> 3.0", compare().get("/core/ org.lib:conflict"));
+    }
+
+    @Test
+    public void inheritedDeclarationWinsOverOwnImport() throws IOException {
+        Assertions.assertEquals("1.0 -> 3.0", compare().get("/core/ org.lib:declared-by-parent"));
+    }
+
+    @Test
+    public void importInheritedFromParentAddsMissingEntries() throws IOException {
+        Assertions.assertEquals("5.0 -> 3.0", compare().get("/core/ org.lib:only-in-parent-bom"));
+    }
+
+    @Test
+    public void bomImportCycleIsBrokenAndReported() throws IOException {
+        write("pom.xml", pom("<groupId>org.acme</groupId><artifactId>parent</artifactId><version>1</version>"
+                + "<packaging>pom</packaging>"
+                + "<modules><module>imports/bom-a</module><module>imports/bom-b</module>"
+                + "<module>core/a</module><module>core/b</module></modules>", ""));
+        write("imports/bom-a/pom.xml", pom("<groupId>org.acme</groupId><artifactId>bom-a</artifactId>"
+                + "<version>1</version><packaging>pom</packaging>",
+                managed("org.lib", "from-a", "1.0", null) + managed("org.acme", "bom-b", "1", "import")));
+        write("imports/bom-b/pom.xml", pom("<groupId>org.acme</groupId><artifactId>bom-b</artifactId>"
+                + "<version>1</version><packaging>pom</packaging>",
+                managed("org.lib", "from-b", "1.0", null) + managed("org.acme", "bom-a", "1", "import")));
+        write("core/a/pom.xml", pom("<parent><groupId>org.acme</groupId><artifactId>parent</artifactId>"
+                + "<version>1</version></parent><artifactId>a</artifactId>", managed("org.acme", "bom-a", "1", "import")));
+        write("core/b/pom.xml", pom("<parent><groupId>org.acme</groupId><artifactId>parent</artifactId>"
+                + "<version>1</version></parent><artifactId>b</artifactId>", managed("org.acme", "bom-b", "1", "import")));
+
+        CompareDependencies compareDependencies = new CompareDependencies(quarkusRepoDirectory, localRepository);
+        // modules entering the cycle from its opposite ends are compared in parallel
+        Map<String, String> versions = Assertions.assertTimeoutPreemptively(Duration.ofSeconds(30),
+                () -> compare(compareDependencies, "from-a", "from-b"));
+        Assertions.assertEquals(Map.of("/core/a/ org.lib:from-a", "1.0 -> 3.0", "/core/a/ org.lib:from-b", "1.0 -> 3.0",
+                "/core/b/ org.lib:from-a", "1.0 -> 3.0", "/core/b/ org.lib:from-b", "1.0 -> 3.0"), versions);
+        Assertions.assertEquals(Set.of("org.acme:bom-a:1", "org.acme:bom-b:1"), compareDependencies.getUnresolvedPoms());
+    }
+
+    @Test
+    public void parentCycleIsBrokenAndReported() throws IOException {
+        write("pom.xml", pom("<groupId>org.acme</groupId><artifactId>root</artifactId><version>1</version>"
+                + "<packaging>pom</packaging>"
+                + "<modules><module>parents/first</module><module>parents/second</module><module>core</module></modules>",
+                ""));
+        write("parents/first/pom.xml", pom("<parent><groupId>org.acme</groupId><artifactId>second</artifactId>"
+                + "<version>1</version></parent><artifactId>first</artifactId><packaging>pom</packaging>",
+                managed("org.lib", "from-first", "1.0", null)));
+        write("parents/second/pom.xml", pom("<parent><groupId>org.acme</groupId><artifactId>first</artifactId>"
+                + "<version>1</version></parent><artifactId>second</artifactId><packaging>pom</packaging>",
+                managed("org.lib", "from-second", "1.0", null)));
+        write("core/pom.xml", pom("<parent><groupId>org.acme</groupId><artifactId>first</artifactId>"
+                + "<version>1</version><relativePath>../parents/first</relativePath></parent><artifactId>core</artifactId>",
+                ""));
+
+        CompareDependencies compareDependencies = new CompareDependencies(quarkusRepoDirectory, localRepository);
+        Map<String, String> versions = Assertions.assertTimeoutPreemptively(Duration.ofSeconds(30),
+                () -> compare(compareDependencies, "from-first", "from-second"));
+        Assertions.assertEquals(Map.of("/core/ org.lib:from-first", "1.0 -> 3.0", "/core/ org.lib:from-second", "1.0 -> 3.0"),
+                versions);
+        Assertions.assertEquals(Set.of("org.acme:first:1"), compareDependencies.getUnresolvedPoms());
+    }
+
+    /**
+     * Reactor of a parent importing `parent-bom`, a `core` module importing `child-bom` and both BOMs as modules
+     * outside of the reported roots, every artifact has version 3.0 in the remote BOM.
+     *
+     * @return versions by module location and artifact
+     */
+    private Map<String, String> compare() throws IOException {
+        write("pom.xml", pom("<groupId>org.acme</groupId><artifactId>parent</artifactId><version>1</version>"
+                + "<packaging>pom</packaging>"
+                + "<modules><module>imports/parent-bom</module><module>imports/child-bom</module><module>core</module></modules>",
+                managed("org.acme", "parent-bom", "1", "import")
+                        + managed("org.lib", "declared-by-parent", "1.0", null)));
+        write("imports/parent-bom/pom.xml", pom("<groupId>org.acme</groupId><artifactId>parent-bom</artifactId>"
+                + "<version>1</version><packaging>pom</packaging>",
+                managed("org.lib", "conflict", "1.0", null)
+                        + managed("org.lib", "only-in-parent-bom", "5.0", null)
+                        + managed("org.lib", "declared-by-parent", "1.1", null)));
+        write("imports/child-bom/pom.xml", pom("<groupId>org.acme</groupId><artifactId>child-bom</artifactId>"
+                + "<version>1</version><packaging>pom</packaging>",
+                managed("org.lib", "conflict", "2.0", null)
+                        + managed("org.lib", "declared-by-parent", "1.2", null)));
+        write("core/pom.xml", pom("<parent><groupId>org.acme</groupId><artifactId>parent</artifactId>"
+                + "<version>1</version></parent><artifactId>core</artifactId>",
+                managed("org.acme", "child-bom", "${project.version}", "import")));
+
+        CompareDependencies compareDependencies = new CompareDependencies(quarkusRepoDirectory, localRepository);
+        Map<String, String> versions = compare(compareDependencies, "conflict", "only-in-parent-bom", "declared-by-parent");
+        Assertions.assertTrue(compareDependencies.getUnresolvedPoms().isEmpty());
+        return versions;
+    }
+
+    /**
+     * @param remoteArtifacts artifacts of `org.lib` with version 3.0 in the remote BOM
+     * @return versions by module location and artifact
+     */
+    private Map<String, String> compare(CompareDependencies compareDependencies, String... remoteArtifacts)
+            throws IOException {
+        StringBuilder remoteManaged = new StringBuilder();
+        for (String artifact : remoteArtifacts) {
+            remoteManaged.append(managed("org.lib", artifact, "3.0", null));
+        }
+        Path remoteBom = write("remote-bom.pom", pom("<groupId>org.acme</groupId><artifactId>remote-bom</artifactId>"
+                + "<version>1</version><packaging>pom</packaging>", remoteManaged.toString()));
+        Map<String, String> versions = new HashMap<>();
+        compareDependencies.compare(remoteBom, (artifact, location, versionsTogether) ->
+                versions.put(location + " " + artifact, versionsTogether));
+        return versions;
+    }
+
+    private Path write(String file, String content) throws IOException {
+        Path path = quarkusRepoDirectory.resolve(file);
+        Files.createDirectories(path.getParent());
+        return Files.writeString(path, content);
+    }
+
+    private static String pom(String coordinates, String managedDependencies) {
+        return "<project><modelVersion>4.0.0</modelVersion>" + coordinates
+                + "<dependencyManagement><dependencies>" + managedDependencies + "</dependencies></dependencyManagement>"
+                + "</project>";
+    }
+
+    private static String managed(String groupId, String artifactId, String version, String scope) {
+        return "<dependency><groupId>" + groupId + "</groupId><artifactId>" + artifactId + "</artifactId>"
+                + "<version>" + version + "</version>"
+                + (scope == null ? "" : "<type>pom</type><scope>" + scope + "</scope>")
+                + "</dependency>";
+    }
+}
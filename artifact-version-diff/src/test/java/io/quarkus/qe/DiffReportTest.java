@@ -24,6 +24,8 @@ public class DiffReportTest {
 
         GenerateVersionDiffReport report = new GenerateVersionDiffReport(quarkusRepoDirectory, allowedArtifactsFile);
         report.generateReport();
+        Assertions.assertTrue(report.getUnresolvedPoms().isEmpty(),
+                "Parents or BOMs couldn't be resolved, the report is incomplete: " + report.getUnresolvedPoms());
         // Just check to throw exception for jenkins to mark builds differently
         Assertions.assertFalse(report.isMajorMinorVersionDiffer(),
                 "Version differs in major or minor version marking as failure");
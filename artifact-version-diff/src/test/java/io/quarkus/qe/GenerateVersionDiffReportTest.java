@@ -0,0 +1,122 @@
+package io.quarkus.qe;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static io.quarkus.qe.PrepareOperation.VERSION_PLUGIN_OUTPUT_FILE_NAME;
+
+public class GenerateVersionDiffReportTest {
+
+    private static final String[] ARTIFACTS = { "org.acme:first", "org.acme:second", "org.lib:lib", "io.netty:netty-codec",
+            "com.google.guava:guava" };
+    private static final String[] VERSIONS = { "1.0 -> 2.0", "1.0 -> 1.1", "2.0 -> 2.1", "3.0 -> 4.1",
+            "4.1.100.Final -> 4.1.100.Final-redhat-00001", "33.0.0-jre -> 33.0.0.jre-redhat-00002" };
+
+    @TempDir
+    Path quarkusRepoDirectory;
+
+    @Test
+    public void locationsAreInPathOrderAndSkippedDirectoriesAreIgnored() throws IOException {
+        writeDiffFile("extensions/b/runtime", List.of("org.acme:first 1.0 -> 2.0"));
+        writeDiffFile("core/runtime", List.of("org.acme:first 1.0 -> 2.0", "org.acme:second 1.0 -> 1.1"));
+        writeDiffFile("bom/application", List.of("org.acme:first 1.0 -> 2.0"));
+        writeDiffFile("extensions/a/deployment", List.of("org.acme:first 1.0 -> 3.0"));
+        // build output, hidden directories and modules outside of the reported roots
+        writeDiffFile("extensions/b/runtime/target", List.of("org.skipped:target 1.0 -> 2.0"));
+        writeDiffFile("extensions/.cache", List.of("org.skipped:hidden 1.0 -> 2.0"));
+        writeDiffFile("docs", List.of("org.skipped:docs 1.0 -> 2.0"));
+
+        GenerateVersionDiffReport report = new GenerateVersionDiffReport(quarkusRepoDirectory, null);
+        report.loadVersionPluginOutput();
+
+        Assertions.assertEquals(List.of("org.acme:first", "org.acme:second"), new ArrayList<>(report.differentArtifacts.keySet()));
+        Artifact first = report.differentArtifacts.get("org.acme:first");
+        Assertions.assertEquals("/bom/application/<br>/core/runtime/<br>/extensions/b/runtime/",
+                first.locationForVersion("1.0 -> 2.0"));
+        Assertions.assertEquals("/extensions/a/deployment/", first.locationForVersion("1.0 -> 3.0"));
+        Assertions.assertEquals("/core/runtime/", report.differentArtifacts.get("org.acme:second").locationForVersion("1.0 -> 1.1"));
+    }
+
+    /**
+     * Files parsed in parallel give the same report as reading them one by one in path order.
+     */
+    @Test
+    public void parallelParsingMatchesSequentialRead() throws IOException {
+        Random random = new Random(42);
+        Map<String, List<String>> modules = new TreeMap<>();
+        for (int i = 0; i < 600; i++) {
+            String root = CompareDependencies.REPORTED_ROOTS.get(random.nextInt(CompareDependencies.REPORTED_ROOTS.size()));
+            String module = root + "/module" + i + (random.nextBoolean() ? "/runtime" : "/deployment");
+            List<String> lines = new ArrayList<>();
+            for (int line = random.nextInt(6); line > 0; line--) {
+                lines.add(ARTIFACTS[random.nextInt(ARTIFACTS.length)] + " " + VERSIONS[random.nextInt(VERSIONS.length)]);
+            }
+            writeDiffFile(module, lines);
+            modules.put(module, lines);
+        }
+
+        GenerateVersionDiffReport sequential = new GenerateVersionDiffReport(quarkusRepoDirectory, null);
+        List<Path> diffFiles = modules.keySet().stream()
+                .map(module -> quarkusRepoDirectory.resolve(module).resolve(VERSION_PLUGIN_OUTPUT_FILE_NAME))
+                .sorted()
+                .toList();
+        for (Path diffFile : diffFiles) {
+            String location = "/" + quarkusRepoDirectory.relativize(diffFile.getParent()) + "/";
+            for (String line : modules.get(quarkusRepoDirectory.relativize(diffFile.getParent()).toString())) {
+                String[] artifactAndVersions = line.split(" ", 2);
+                if (!Artifact.versionComparator(artifactAndVersions[0], artifactAndVersions[1])) {
+                    sequential.addToDifferentArtifacts(artifactAndVersions[0], location, artifactAndVersions[1]);
+                }
+            }
+        }
+
+        Assertions.assertFalse(sequential.differentArtifacts.isEmpty());
+        for (int run = 0; run < 3; run++) {
+            GenerateVersionDiffReport parallel = new GenerateVersionDiffReport(quarkusRepoDirectory, null);
+            parallel.loadVersionPluginOutput();
+            Assertions.assertEquals(locations(sequential), locations(parallel));
+        }
+    }
+
+    /**
+     * @return locations of every artifact and version as written to the detailed report
+     */
+    private static Map<String, Map<String, String>> locations(GenerateVersionDiffReport report) {
+        Map<String, Map<String, String>> locations = new LinkedHashMap<>();
+        report.differentArtifacts.forEach((artifact, versions) -> {
+            Map<String, String> versionLocations = new TreeMap<>();
+            versions.getDifferentVersions().forEach(version -> versionLocations.put(version, versions.locationForVersion(version)));
+            locations.put(artifact, versionLocations);
+        });
+        return locations;
+    }
+
+    /**
+     * Write file in the format of versions plugin, artifact and versions are separated by dots
+     */
+    private void writeDiffFile(String module, List<String> differences) throws IOException {
+        StringBuilder content = new StringBuilder("The following differences were found:\n\n");
+        if (differences.isEmpty()) {
+            content.append("  none\n");
+        }
+        for (String difference : differences) {
+            String[] artifactAndVersions = difference.split(" ", 2);
+            content.append("  ").append(artifactAndVersions[0]).append(" ")
+                    .append(".".repeat(60 - difference.length() % 30)).append(" ").append(artifactAndVersions[1]).append("\n");
+        }
+        content.append("\nThe following property differences were found:\n\n  none\n");
+        Path directory = Files.createDirectories(quarkusRepoDirectory.resolve(module));
+        Files.writeString(directory.resolve(VERSION_PLUGIN_OUTPUT_FILE_NAME), content);
+    }
+}
@@ -0,0 +1,90 @@
+package io.quarkus.qe.benchmark;
+
+import io.quarkus.qe.AddedArtifactsPrint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end run of {@link AddedArtifactsPrint#printToFile()} as {@code diff-gav-artifact.sh} does it.
+ * <ul>
+ * <li>{@code cold} deletes the POM cache and the dependency index before every invocation, like the first run</li>
+ * <li>{@code cached} keeps the POM cache, like a run on a rebuilt repository</li>
+ * <li>{@code reused} keeps both, like a repeated run on the same repository</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AddedArtifactsPrintBenchmark {
+    private static final String[] PROPERTIES = { "quarkus.maven.dir", "quarkus.new-artifacts-list",
+            "quarkus.pom-cache.file", "quarkus.dependency-index.file", "user.dir" };
+
+    @Param({ "cold", "cached", "reused" })
+    public String run;
+
+    private Path outputDirectory;
+    private Path pomCacheFile;
+    private Path indexFile;
+    private final String[] originalProperties = new String[PROPERTIES.length];
+
+    @Setup(Level.Trial)
+    public void configure(RepositoryState state) throws IOException {
+        for (int i = 0; i < PROPERTIES.length; i++) {
+            originalProperties[i] = System.getProperty(PROPERTIES[i]);
+        }
+        outputDirectory = Files.createDirectories(state.workDirectory.resolve("output-" + run));
+        pomCacheFile = state.workDirectory.resolve("pom-cache-" + run + ".bin");
+        indexFile = state.workDirectory.resolve("dependency-index-" + run + ".bin");
+        System.setProperty("quarkus.maven.dir", state.repositoryDirectory.toString());
+        System.setProperty("quarkus.new-artifacts-list", state.addedArtifactsList.toString());
+        System.setProperty("quarkus.pom-cache.file", pomCacheFile.toString());
+        System.setProperty("quarkus.dependency-index.file", indexFile.toString());
+        // printToFile writes the reports to the working directory
+        System.setProperty("user.dir", outputDirectory.toString());
+    }
+
+    @Setup(Level.Invocation)
+    public void resetCaches() throws IOException {
+        if (!"reused".equals(run)) {
+            Files.deleteIfExists(indexFile);
+        }
+        if ("cold".equals(run)) {
+            Files.deleteIfExists(pomCacheFile);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void restoreProperties() {
+        for (int i = 0; i < PROPERTIES.length; i++) {
+            if (originalProperties[i] == null) {
+                System.clearProperty(PROPERTIES[i]);
+            } else {
+                System.setProperty(PROPERTIES[i], originalProperties[i]);
+            }
+        }
+    }
+
+    @Benchmark
+    public void printToFile() throws IOException {
+        new AddedArtifactsPrint().printToFile();
+    }
+}
@@ -0,0 +1,58 @@
+package io.quarkus.qe.benchmark;
+
+import io.quarkus.qe.Artifact;
+import io.quarkus.qe.MavenRepo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Repository walk and POM parsing, the parts of diff-utils whose cost grows with the repository size.
+ * A new {@link Artifact} is created for every POM, so the POM is parsed on each invocation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryBenchmark {
+
+    @Benchmark
+    public long artifacts(RepositoryState state) throws IOException {
+        try (MavenRepo repo = MavenRepo.at(state.repositoryDirectory); Stream<Artifact> artifacts = repo.artifacts()) {
+            return artifacts.count();
+        }
+    }
+
+    @Benchmark
+    public long allFiles(RepositoryState state) throws IOException {
+        try (MavenRepo repo = MavenRepo.at(state.repositoryDirectory);
+                Stream<Artifact> artifacts = repo.artifacts(MavenRepo.ALL_FILES)) {
+            return artifacts.count();
+        }
+    }
+
+    @Benchmark
+    public void versionedCoordinates(RepositoryState state, Blackhole blackhole) {
+        for (Path pomFile : state.pomFiles) {
+            blackhole.consume(new Artifact(pomFile, state.repositoryDirectory).asPom().versionedCoordinates());
+        }
+    }
+
+    @Benchmark
+    public void getDependenciesGav(RepositoryState state, Blackhole blackhole) {
+        for (Path pomFile : state.pomFiles) {
+            new Artifact(pomFile, state.repositoryDirectory).asPom().getDependenciesGav().forEach(blackhole::consume);
+        }
+    }
+}
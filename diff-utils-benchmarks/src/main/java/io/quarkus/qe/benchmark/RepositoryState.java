@@ -0,0 +1,53 @@
+package io.quarkus.qe.benchmark;
+
+import io.quarkus.qe.Artifact;
+import io.quarkus.qe.MavenRepo;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Synthetic repository generated once per trial into a temp directory, see {@link SyntheticRepository}.
+ */
+@State(Scope.Benchmark)
+public class RepositoryState {
+    /**
+     * {@code groups x artifacts x versions}, the largest one has about as many POMs as an RHBQ repository.
+     */
+    @Param({ "10x10x2", "50x20x3", "200x25x3" })
+    public String shape;
+
+    Path workDirectory;
+    Path repositoryDirectory;
+    Path addedArtifactsList;
+    List<Path> pomFiles;
+
+    @Setup(Level.Trial)
+    public void generate() throws IOException {
+        workDirectory = Files.createTempDirectory("diff-utils-benchmark-");
+        repositoryDirectory = workDirectory.resolve("maven-repository");
+        addedArtifactsList = workDirectory.resolve("added_artifacts_list.txt");
+        SyntheticRepository repository = SyntheticRepository.parse(shape);
+        repository.generate(repositoryDirectory);
+        repository.writeAddedArtifactsList(addedArtifactsList);
+
+        try (MavenRepo repo = MavenRepo.at(repositoryDirectory); Stream<Artifact> artifacts = repo.artifacts()) {
+            pomFiles = artifacts.map(Artifact::file).collect(Collectors.toList());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void delete() throws IOException {
+        SyntheticRepository.delete(workDirectory);
+    }
+}
@@ -0,0 +1,297 @@
+package io.quarkus.qe.benchmark;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * Generator of synthetic Maven repositories shaped like the RHBQ one: {@code groups} groups with {@code artifacts}
+ * artifacts in {@code versions} versions each. Every group has a parent POM importing a platform BOM, artifacts
+ * inherit groupId and version from the parent and depend on {@code fanOut} artifacts of the same or lower groups
+ * with managed, property and explicit versions, so all the POM features used by diff-utils are exercised.
+ * <p>
+ * The repository is the same for the same shape and seed. POMs come with a jar and {@code .sha1} sidecars.
+ */
+public final class SyntheticRepository {
+    public static final String BOM_GROUP_ID = "org.synthetic";
+    public static final String BOM_ARTIFACT_ID = "synthetic-bom";
+    private static final String BOM_VERSION = "1.0.0";
+    private static final long DEFAULT_SEED = 42;
+
+    private final int groups;
+    private final int artifacts;
+    private final int versions;
+    private final int fanOut;
+    private final long seed;
+
+    public SyntheticRepository(int groups, int artifacts, int versions, int fanOut, long seed) {
+        if (groups < 1 || artifacts < 1 || versions < 1 || fanOut < 0) {
+            throw new IllegalArgumentException("Positive repository dimensions expected");
+        }
+        this.groups = groups;
+        this.artifacts = artifacts;
+        this.versions = versions;
+        this.fanOut = fanOut;
+        this.seed = seed;
+    }
+
+    /**
+     * @param shape {@code groups x artifacts x versions}, e.g. {@code 100x20x3}, with a fan-out of 5 dependencies
+     */
+    public static SyntheticRepository parse(String shape) {
+        String[] dimensions = shape.split("x");
+        if (dimensions.length != 3) {
+            throw new IllegalArgumentException("Expected 'groups x artifacts x versions': " + shape);
+        }
+        return new SyntheticRepository(Integer.parseInt(dimensions[0]), Integer.parseInt(dimensions[1]),
+                Integer.parseInt(dimensions[2]), 5, DEFAULT_SEED);
+    }
+
+    public int pomCount() {
+        return 1 + groups * versions * (artifacts + 1);
+    }
+
+    /**
+     * Write the repository to the directory.
+     */
+    public void generate(Path root) throws IOException {
+        Random random = new Random(seed);
+        writePom(root, BOM_GROUP_ID, BOM_ARTIFACT_ID, BOM_VERSION, bom());
+        for (int group = 0; group < groups; group++) {
+            for (int version = 0; version < versions; version++) {
+                writePom(root, groupId(group), parentArtifactId(group), version(version), parent(group, version));
+                for (int artifact = 0; artifact < artifacts; artifact++) {
+                    Path pom = writePom(root, groupId(group), artifactId(group, artifact), version(version),
+                            artifact(group, artifact, version, random));
+                    writeJar(pom, random);
+                }
+            }
+        }
+    }
+
+    /**
+     * Write {@code groupId:artifactId} of every 10th artifact of the lower half of the groups, which have
+     * the most dependents, as the list of added artifacts.
+     */
+    public void writeAddedArtifactsList(Path file) throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (int group = 0; group < Math.max(1, groups / 2); group++) {
+            for (int artifact = 0; artifact < artifacts; artifact += 10) {
+                lines.add(groupId(group) + ":" + artifactId(group, artifact));
+            }
+        }
+        Files.write(file, lines, StandardCharsets.UTF_8);
+    }
+
+    private static String groupId(int group) {
+        return "org.synthetic.g" + group;
+    }
+
+    private static String parentArtifactId(int group) {
+        return "g" + group + "-parent";
+    }
+
+    private static String artifactId(int group, int artifact) {
+        return "g" + group + "-artifact-" + artifact;
+    }
+
+    private static String version(int version) {
+        return "1." + version + ".0";
+    }
+
+    private String latestVersion() {
+        return version(versions - 1);
+    }
+
+    private String bom() {
+        StringBuilder dependencies = new StringBuilder();
+        for (int group = 0; group < groups; group++) {
+            for (int artifact = 0; artifact < artifacts; artifact++) {
+                dependencies.append(dependency(groupId(group), artifactId(group, artifact), latestVersion(), null, "            "));
+            }
+        }
+        return project(BOM_GROUP_ID, BOM_ARTIFACT_ID, BOM_VERSION, "pom", null, "",
+                "    <dependencyManagement>\n        <dependencies>\n" + dependencies
+                        + "        </dependencies>\n    </dependencyManagement>\n", "");
+    }
+
+    private String parent(int group, int version) {
+        String properties = "    <properties>\n"
+                + "        <g" + group + ".version>" + version(version) + "</g" + group + ".version>\n"
+                + "        <synthetic-bom.version>" + BOM_VERSION + "</synthetic-bom.version>\n"
+                + "        <maven.compiler.release>11</maven.compiler.release>\n"
+                + "    </properties>\n";
+        String dependencyManagement = "    <dependencyManagement>\n        <dependencies>\n"
+                + "            <dependency>\n"
+                + "                <groupId>" + BOM_GROUP_ID + "</groupId>\n"
+                + "                <artifactId>" + BOM_ARTIFACT_ID + "</artifactId>\n"
+                + "                <version>${synthetic-bom.version}</version>\n"
+                + "                <type>pom</type>\n"
+                + "                <scope>import</scope>\n"
+                + "            </dependency>\n"
+                + "        </dependencies>\n    </dependencyManagement>\n";
+        return project(groupId(group), parentArtifactId(group), version(version), "pom", null, properties,
+                dependencyManagement, build());
+    }
+
+    private String artifact(int group, int artifact, int version, Random random) {
+        StringBuilder dependencies = new StringBuilder("    <dependencies>\n");
+        for (int i = 0; i < fanOut; i++) {
+            int dependencyGroup = random.nextInt(group + 1);
+            int dependencyArtifact = random.nextInt(artifacts);
+            if (dependencyGroup == group && dependencyArtifact == artifact) {
+                continue;
+            }
+            String dependencyVersion;
+            if (random.nextInt(3) == 0) {
+                dependencyVersion = null; // managed by the BOM
+            } else if (dependencyGroup == group) {
+                dependencyVersion = random.nextBoolean() ? "${project.version}" : "${g" + group + ".version}";
+            } else {
+                dependencyVersion = version(random.nextInt(versions));
+            }
+            dependencies.append(dependency(groupId(dependencyGroup), artifactId(dependencyGroup, dependencyArtifact),
+                    dependencyVersion, null, "        "));
+        }
+        dependencies.append(dependency("org.junit.jupiter", "junit-jupiter", "5.10.2", "test", "        "));
+        dependencies.append("    </dependencies>\n");
+
+        String parent = "    <parent>\n"
+                + "        <groupId>" + groupId(group) + "</groupId>\n"
+                + "        <artifactId>" + parentArtifactId(group) + "</artifactId>\n"
+                + "        <version>" + version(version) + "</version>\n"
+                + "    </parent>\n";
+        return project(null, artifactId(group, artifact), null, null, parent, "", dependencies.toString(), "");
+    }
+
+    private static String dependency(String groupId, String artifactId, String version, String scope, String indent) {
+        return indent + "<dependency>\n"
+                + indent + "    <groupId>" + groupId + "</groupId>\n"
+                + indent + "    <artifactId>" + artifactId + "</artifactId>\n"
+                + (version == null ? "" : indent + "    <version>" + version + "</version>\n")
+                + (scope == null ? "" : indent + "    <scope>" + scope + "</scope>\n")
+                + indent + "</dependency>\n";
+    }
+
+    private static String build() {
+        return "    <build>\n        <plugins>\n"
+                + "            <plugin>\n"
+                + "                <groupId>org.apache.maven.plugins</groupId>\n"
+                + "                <artifactId>maven-compiler-plugin</artifactId>\n"
+                + "                <version>3.11.0</version>\n"
+                + "                <configuration>\n"
+                + "                    <release>${maven.compiler.release}</release>\n"
+                + "                </configuration>\n"
+                + "            </plugin>\n"
+                + "        </plugins>\n    </build>\n";
+    }
+
+    private static String project(String groupId, String artifactId, String version, String packaging, String parent,
+            String properties, String dependencies, String build) {
+        return "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<project xmlns=\"http://maven.apache.org/POM/4.0.0\" xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"\n"
+                + "         xsi:schemaLocation=\"http://maven.apache.org/POM/4.0.0 https://maven.apache.org/xsd/maven-4.0.0.xsd\">\n"
+                + "    <modelVersion>4.0.0</modelVersion>\n"
+                + (parent == null ? "" : parent)
+                + (groupId == null ? "" : "    <groupId>" + groupId + "</groupId>\n")
+                + "    <artifactId>" + artifactId + "</artifactId>\n"
+                + (version == null ? "" : "    <version>" + version + "</version>\n")
+                + (packaging == null ? "" : "    <packaging>" + packaging + "</packaging>\n")
+                + "    <name>Synthetic - " + artifactId + "</name>\n"
+                + "    <description>Synthetic artifact generated for diff-utils benchmarks</description>\n"
+                + "    <licenses>\n        <license>\n"
+                + "            <name>Apache License, Version 2.0</name>\n"
+                + "            <url>https://www.apache.org/licenses/LICENSE-2.0</url>\n"
+                + "        </license>\n    </licenses>\n"
+                + properties
+                + dependencies
+                + build
+                + "</project>\n";
+    }
+
+    private static Path writePom(Path root, String groupId, String artifactId, String version, String content)
+            throws IOException {
+        Path directory = root.resolve(groupId.replace('.', '/')).resolve(artifactId).resolve(version);
+        Files.createDirectories(directory);
+        Path pom = directory.resolve(artifactId + "-" + version + ".pom");
+        writeWithSha1(pom, content.getBytes(StandardCharsets.UTF_8));
+        return pom;
+    }
+
+    private static void writeJar(Path pom, Random random) throws IOException {
+        String pomFileName = pom.getFileName().toString();
+        byte[] content = new byte[1024 + random.nextInt(4096)];
+        random.nextBytes(content);
+        writeWithSha1(pom.resolveSibling(pomFileName.substring(0, pomFileName.length() - ".pom".length()) + ".jar"), content);
+    }
+
+    private static void writeWithSha1(Path file, byte[] content) throws IOException {
+        Files.write(file, content);
+        Files.writeString(file.resolveSibling(file.getFileName() + ".sha1"), sha1(content));
+    }
+
+    private static String sha1(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(content);
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Delete a generated repository or work directory.
+     */
+    public static void delete(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        List<Path> paths;
+        try (var walk = Files.walk(directory)) {
+            paths = walk.sorted((a, b) -> b.compareTo(a)).collect(Collectors.toList());
+        }
+        for (Path path : paths) {
+            try {
+                Files.delete(path);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to delete " + path, e);
+            }
+        }
+    }
+
+    /**
+     * Generate a repository for runs outside of the benchmarks, e.g. of {@code diff-gav-artifact.sh}.
+     *
+     * @param args target directory, shape like {@code 100x20x3} and optionally a file for the list of added artifacts
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: SyntheticRepository <target-directory> <groups>x<artifacts>x<versions> [added-artifacts-list]");
+            System.exit(1);
+        }
+        SyntheticRepository repository = parse(args[1]);
+        repository.generate(Paths.get(args[0]));
+        if (args.length > 2) {
+            repository.writeAddedArtifactsList(Paths.get(args[2]));
+        }
+        System.out.printf("Generated %d POMs to %s%n", repository.pomCount(), args[0]);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%dx%dx%d repository", groups, artifacts, versions);
+    }
+}
@@ -24,80 +24,50 @@ wget -q -O quarkus-maven-repo.zip "http://download.eng.bos.redhat.com/rcm-guest/
 MAVEN_REPO_ROOT_DIR_NAME=$(unzip -Z -1 quarkus-maven-repo.zip | head -n 1 | cut -d '/' -f 1)
 unzip -q quarkus-maven-repo.zip
 
+# the Maven builds below resolve from the productized repo, Maven can't read it from the zip
 wget -O ~/.m2/settings.xml https://gitlab.cee.redhat.com/quarkus-qe/jenkins-jobs/-/raw/main/jobs/rhbq/files/settings.xml
 sed -i -e "s|/path_to_repo|$PWD/${MAVEN_REPO_ROOT_DIR_NAME}/maven-repository|" ~/.m2/settings.xml
-LOCAL_REPO="$(pwd)/${MAVEN_REPO_ROOT_DIR_NAME}/maven-repository/"
-
-while read line; do
-  OLD_VERSION=`echo $line | cut -d: -f3`
-  GA=`echo $line | cut -d: -f1-2`
-  NEW_VERSION=`cat artifacts_${QUARKUS_VERSION_NEW}.txt | grep "$GA:" | cut -d: -f3`
-  NEW_VERSION_COUNT=`wc -w <<< $NEW_VERSION`
-
-  if [ $NEW_VERSION_COUNT -eq 1 ]; then
-    if [ "$NEW_VERSION" = "$OLD_VERSION" ]; then
-      echo "$GA - $OLD_VERSION  => $NEW_VERSION  ::  IDENTICAL" >> artifacts_${QUARKUS_VERSION_NEW}_IDENTICAL.txt
-
-    elif [ "$(printf '%s\n' "$OLD_VERSION" "$NEW_VERSION" | sort -V | head -n1)" = "$OLD_VERSION" ]; then
-      echo "$GA - $OLD_VERSION  => $NEW_VERSION  ::  UPGRADED" >> artifacts_${QUARKUS_VERSION_NEW}_UPGRADED.txt
-
-    else
-      echo "$GA - $OLD_VERSION  => $NEW_VERSION  ::  DOWNGRADED" >> artifacts_${QUARKUS_VERSION_NEW}_DOWNGRADED.txt
-
-    fi
-  elif [ $NEW_VERSION_COUNT -eq 0 ]; then
-    echo "$GA - $OLD_VERSION  ::  REMOVED" >> artifacts_${QUARKUS_VERSION_NEW}_REMOVED.txt
-
-  else
-    # echo "$GA - $OLD_VERSION  vs. $NEW_VERSION ... $NEW_VERSION_COUNT  ::  MULTIPLE - Multiple versions to compare with, skipping"
-    echo "$GA" >> artifacts_${QUARKUS_VERSION_NEW}_MULTIPLE.txt
-  fi
-done < artifacts_${QUARKUS_VERSION_OLD}.txt
-
-while read line; do
-  NEW_VERSION=`echo $line | cut -d: -f3`
-  GA=`echo $line | cut -d: -f1-2`
-  OLD_VERSION_COUNT=`cat artifacts_${QUARKUS_VERSION_OLD}.txt | grep "$GA:" | cut -d: -f3 | wc -w`
-
-  if [ $OLD_VERSION_COUNT -eq 0 ]; then
-    echo "$GA - $NEW_VERSION  ::  ADDED" >> artifacts_${QUARKUS_VERSION_NEW}_ADDED.txt
-    echo "$GA" >> added_artifacts_list.txt
-  fi
-done < artifacts_${QUARKUS_VERSION_NEW}.txt
-
-cat artifacts_${QUARKUS_VERSION_NEW}_MULTIPLE.txt | sort | uniq > artifacts_${QUARKUS_VERSION_NEW}_MULTIPLE_TMP.txt
-mv artifacts_${QUARKUS_VERSION_NEW}_MULTIPLE_TMP.txt artifacts_${QUARKUS_VERSION_NEW}_MULTIPLE.txt
-while read line; do
-  grep $line artifacts_${QUARKUS_VERSION_OLD}.txt >> artifacts_${QUARKUS_VERSION_OLD}_MULTIPLE_DETAILS.txt
-  grep $line artifacts_${QUARKUS_VERSION_NEW}.txt >> artifacts_${QUARKUS_VERSION_NEW}_MULTIPLE_DETAILS.txt
-done < artifacts_${QUARKUS_VERSION_NEW}_MULTIPLE.txt
+# the zip is read directly by the Java program
+LOCAL_REPO="$(pwd)/quarkus-maven-repo.zip"
+
+# Classification of artifacts into IDENTICAL / UPGRADED / DOWNGRADED / REMOVED / ADDED / MULTIPLE files
+mvn clean install exec:java -Dquarkus.diff-utils.mode=gav-diff \
+  -Dquarkus.artifact-list.old="artifacts_${QUARKUS_VERSION_OLD}.txt" -Dquarkus.version.old="${QUARKUS_VERSION_OLD}" \
+  -Dquarkus.artifact-list.new="artifacts_${QUARKUS_VERSION_NEW}.txt" -Dquarkus.version.new="${QUARKUS_VERSION_NEW}"
 
 # Dependencies print of new added artifacts
 mvn clean install exec:java -Dquarkus.maven.dir="$LOCAL_REPO" -Dquarkus.new-artifacts-list="added_artifacts_list.txt"
 mv added_artifacts_deps.txt artifacts_${QUARKUS_VERSION_NEW}_ADDED_WITH_DEPENDENTS.txt
-cat artifacts_${QUARKUS_VERSION_NEW}_ADDED_WITH_DEPENDENTS.txt | sed 's/\$/\\$/g' > added-artifacts-escape-dollars.txt
+mv added_artifacts_transitive_deps.txt artifacts_${QUARKUS_VERSION_NEW}_ADDED_WITH_TRANSITIVE_DEPENDENTS.txt
+mv added_artifacts_deps.jsonl artifacts_${QUARKUS_VERSION_NEW}_ADDED_WITH_DEPENDENTS.jsonl
+mv added_artifacts_deps.csv artifacts_${QUARKUS_VERSION_NEW}_ADDED_WITH_DEPENDENTS.csv
+mv diff_utils_metrics_added-artifacts.json diff_utils_metrics_added-artifacts_ADDED.json
 rm -f added_artifacts_list.txt
 
 # Dependencies print of multiple artifacts
-mvn clean install exec:java -Dquarkus.maven.dir="$LOCAL_REPO" -Dquarkus.new-artifacts-list="artifacts_${QUARKUS_VERSION_NEW}_MULTIPLE.txt"
+mvn clean install exec:java -Dquarkus.maven.dir="$LOCAL_REPO" -Dquarkus.new-artifacts-list="artifacts_${QUARKUS_VERSION_NEW}_MULTIPLE.txt" \
+  -Dquarkus.new-artifacts-category=MULTIPLE
 mv added_artifacts_deps.txt artifacts_${QUARKUS_VERSION_NEW}_MULTIPLE_WITH_DEPENDENTS.txt
-cat artifacts_${QUARKUS_VERSION_NEW}_MULTIPLE_WITH_DEPENDENTS.txt | sed 's/\$/\\$/g' > multiple-artifacts-escape-dollars.txt
+mv added_artifacts_transitive_deps.txt artifacts_${QUARKUS_VERSION_NEW}_MULTIPLE_WITH_TRANSITIVE_DEPENDENTS.txt
+mv added_artifacts_deps.jsonl artifacts_${QUARKUS_VERSION_NEW}_MULTIPLE_WITH_DEPENDENTS.jsonl
+mv added_artifacts_deps.csv artifacts_${QUARKUS_VERSION_NEW}_MULTIPLE_WITH_DEPENDENTS.csv
+mv diff_utils_metrics_added-artifacts.json diff_utils_metrics_added-artifacts_MULTIPLE.json
 
-cat added-artifacts-escape-dollars.txt multiple-artifacts-escape-dollars.txt > added-multiple-artifacts-escape-dollars.txt
+cat artifacts_${QUARKUS_VERSION_NEW}_ADDED_WITH_DEPENDENTS.txt artifacts_${QUARKUS_VERSION_NEW}_MULTIPLE_WITH_DEPENDENTS.txt > added-multiple-artifacts-dependents.txt
 
 # HTML diff of added and multiple changed artifacts
-./create_colorful_diff.sh diff-gav-artifacts.html artifacts_${QUARKUS_VERSION_OLD}_GA.txt artifacts_${QUARKUS_VERSION_NEW}_GA.txt added-multiple-artifacts-escape-dollars.txt
+./create_colorful_diff.sh diff-gav-artifacts.html artifacts_${QUARKUS_VERSION_OLD}_GA.txt artifacts_${QUARKUS_VERSION_NEW}_GA.txt added-multiple-artifacts-dependents.txt
+mv diff_utils_metrics_html-diff.json diff_utils_metrics_html-diff_diff-gav-artifacts.json
 rm artifacts_${QUARKUS_VERSION_OLD}_GA.txt artifacts_${QUARKUS_VERSION_NEW}_GA.txt
 
 # HTML diff of multiple artifacts
-./create_colorful_diff.sh diff-artifacts-with-multiple-versions.html artifacts_${QUARKUS_VERSION_OLD}_MULTIPLE_DETAILS.txt artifacts_${QUARKUS_VERSION_NEW}_MULTIPLE_DETAILS.txt added-multiple-artifacts-escape-dollars.txt
+./create_colorful_diff.sh diff-artifacts-with-multiple-versions.html artifacts_${QUARKUS_VERSION_OLD}_MULTIPLE_DETAILS.txt artifacts_${QUARKUS_VERSION_NEW}_MULTIPLE_DETAILS.txt added-multiple-artifacts-dependents.txt
+mv diff_utils_metrics_html-diff.json diff_utils_metrics_html-diff_diff-artifacts-with-multiple-versions.json
 rm -f artifacts_${QUARKUS_VERSION_OLD}_MULTIPLE_DETAILS.txt artifacts_${QUARKUS_VERSION_NEW}_MULTIPLE_DETAILS.txt
 
 rm -f quarkus-maven-repo.zip
 rm -f ~/.m2/settings.xml
 rm -rf ${MAVEN_REPO_ROOT_DIR_NAME}
-rm -f added-multiple-artifacts-escape-dollars.txt
-rm -f multiple-artifacts-escape-dollars.txt
-rm -f added-artifacts-escape-dollars.txt
+rm -f added-multiple-artifacts-dependents.txt
 
 wc -l artifacts_*.txt
\ No newline at end of file
@@ -1,33 +1,25 @@
 package io.quarkus.qe;
 
-import com.google.common.collect.HashMultimap;
-import com.google.common.collect.Multimap;
-import org.grep4j.core.model.Profile;
-import org.grep4j.core.model.ProfileBuilder;
-import org.grep4j.core.result.GrepResult;
-import org.grep4j.core.result.GrepResults;
 import org.jboss.logging.Logger;
 
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.LinkedHashSet;
 import java.util.Objects;
-import java.util.regex.Pattern;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import static org.grep4j.core.Grep4j.grep;
-import static org.grep4j.core.Grep4j.constantExpression;
-import static org.grep4j.core.Grep4j.regularExpression;
-
 public class AddedArtifactsPrint {
 
     private final String addedArtifactsListPath;
-    private static MavenRepo repo;
-    private static final char DEPENDENCY_INDEX_DELIMITER = '\t';
-    private static final String DEPENDENCY_INDEX_PATH = AddedArtifactsPrint.class.getProtectionDomain().getCodeSource().getLocation().getPath() + "quarkus-dependency-index.txt";
+    private final Path mavenRepoPath;
+    private final String classification;
     private static final Logger LOG = org.jboss.logging.Logger.getLogger(AddedArtifactsPrint.class);
 
     public AddedArtifactsPrint() {
@@ -35,82 +27,109 @@ public class AddedArtifactsPrint {
                 "System property 'quarkus.new-artifacts-list' expected");
         String mavenRepoDirStr = Objects.requireNonNull(System.getProperty("quarkus.maven.dir"),
                 "System property 'quarkus.maven.dir' expected");
-        repo = MavenRepo.at(Paths.get(mavenRepoDirStr).resolve("."));
+        mavenRepoPath = Paths.get(mavenRepoDirStr);
+        classification = System.getProperty("quarkus.new-artifacts-category", GavListDiffer.Category.ADDED.name());
     }
 
     public void printToFile() throws IOException {
         String currentWorkingDir = System.getProperty("user.dir");
 
-        buildDependencyIndex();
-        Multimap<Coordinates, String> allCoordinates = HashMultimap.create();
-        try (Stream<Artifact> artifacts = repo.artifacts()) {
-            artifacts
-                    .filter(Artifact::isPom)
-                    .peek(artifact -> LOG.debug(String.valueOf(artifact)))
-                    .map(artifact -> artifact.asPom().versionedCoordinates())
-                    .forEach(coords -> allCoordinates.put(coords.withoutVersion(), coords.version()));
-        }
+        Set<Coordinates> addedArtifacts = loadAddedArtifacts();
+        MappedDependencyIndex index = loadIndex();
 
-        try (FileWriter fileWriter = new FileWriter(currentWorkingDir + "/added_artifacts_deps.txt")) {
+        try (FileWriter fileWriter = new FileWriter(currentWorkingDir + "/added_artifacts_deps.txt");
+                RunMetrics.Phase phase = RunMetrics.get().phase("report")) {
             PrintWriter printWriter = new PrintWriter(fileWriter);
-            allCoordinates.keySet()
-                    .forEach(coords -> {
-                        if (hasAddedArtifact(coords.toString())) {
-                            String version = allCoordinates.get(coords).toString();
-                            printWriter.printf("\nDependants for %s - %s :: ADDED \n(%s)\n",
-                                    coords, version, getDependentsInfo(coords));
-                        }
-                    });
+            addedArtifacts.forEach(coords -> {
+                Set<String> versions = index.versions(coords);
+                if (!versions.isEmpty()) {
+                    printWriter.printf("\nDependants for %s - %s :: %s \n(%s)\n",
+                            coords, versions, classification, getDependentsInfo(index, coords));
+                }
+            });
+            printWriter.flush();
         }
+
+        printTransitiveDependents(currentWorkingDir, addedArtifacts, index);
     }
 
-    private void buildDependencyIndex() throws IOException {
-        try (PrintWriter writer = new PrintWriter(DEPENDENCY_INDEX_PATH, StandardCharsets.UTF_8)) {
-            repo.artifacts()
-                    .filter(Artifact::isPom)
-                    .map(Artifact::asPom)
-                    .flatMap(this::getPomDependencyIndexEntries)
-                    .forEach(writer::println);
+    /**
+     * @return index stored by a previous run if the repository hasn't changed since, otherwise a new index
+     * which is stored for the next runs
+     */
+    private MappedDependencyIndex loadIndex() throws IOException {
+        Path indexFile = MappedDependencyIndex.defaultFile();
+        try (MavenRepo repo = MavenRepo.at(mavenRepoPath)) {
+            String fingerprint;
+            try (RunMetrics.Phase phase = RunMetrics.get().phase("fingerprint")) {
+                fingerprint = repo.fingerprint();
+            }
+            MappedDependencyIndex index = MappedDependencyIndex.openIfCurrent(indexFile, fingerprint);
+            if (index != null) {
+                LOG.infof("Reusing %s of %s", index, repo);
+                return index;
+            }
+
+            PomSummaryCache cache = PomSummaryCache.load();
+            DependencyIndex newIndex = DependencyIndex.of(repo, cache);
+            LOG.debugf("Indexed %d artifacts of %s", newIndex.coordinates().size(), repo);
+            cache.save();
+            try (RunMetrics.Phase phase = RunMetrics.get().phase("write-index")) {
+                MappedDependencyIndex.write(newIndex, indexFile, fingerprint);
+            }
         }
+        return MappedDependencyIndex.open(indexFile);
     }
 
-    private Stream<String> getPomDependencyIndexEntries(Artifact.Pom pom) {
-        final VersionedCoordinates versionedCoordinates = pom.versionedCoordinates();
-        return pom.getDependenciesGav()
-                .map(dependency -> String.format("%s%s%s", versionedCoordinates, DEPENDENCY_INDEX_DELIMITER, dependency));
-    }
+    private void printTransitiveDependents(String currentWorkingDir, Set<Coordinates> addedArtifacts,
+            MappedDependencyIndex index)
+            throws IOException {
+        DependencyGraph graph;
+        try (RunMetrics.Phase phase = RunMetrics.get().phase("graph")) {
+            graph = DependencyGraph.of(index);
+        }
 
-    private String getDependentsInfo(Coordinates coordinates) {
-        final String dependents = grepDependencyIndex(String.format("%s:", coordinates));
-        return dependents.isEmpty() ? "no dependents found" : String.format("dependents: %s", dependents);
+        try (FileWriter fileWriter = new FileWriter(currentWorkingDir + "/added_artifacts_transitive_deps.txt");
+                DependentsRecordWriter recordWriter = new DependentsRecordWriter(Paths.get(currentWorkingDir));
+                RunMetrics.Phase phase = RunMetrics.get().phase("transitive-report")) {
+            PrintWriter printWriter = new PrintWriter(fileWriter);
+            for (Coordinates coords : addedArtifacts) {
+                Set<String> versions = index.versions(coords);
+                if (!versions.isEmpty()) {
+                    // one closure at a time, it's released as soon as its record is written
+                    DependencyGraph.Closure closure = graph.dependentsClosure(coords);
+                    printWriter.printf("\nTransitive dependants for %s - %s :: %s \n(%s)\n",
+                            coords, versions, classification, getTransitiveDependentsInfo(closure));
+                    recordWriter.write(coords, classification, versions, index.dependents(coords), closure.dependents());
+                }
+            }
+            printWriter.flush();
+        }
     }
 
-    private String grepDependencyIndex(String pattern) {
-        final Profile indexFile = ProfileBuilder.newBuilder()
-                .name("POM file")
-                .filePath(DEPENDENCY_INDEX_PATH)
-                .onLocalhost()
-                .build();
-
-        final GrepResults grepResults = grep(constantExpression(DEPENDENCY_INDEX_DELIMITER + pattern), indexFile);
+    private Set<Coordinates> loadAddedArtifacts() throws IOException {
+        try (Stream<String> lines = Files.lines(Paths.get(addedArtifactsListPath), StandardCharsets.UTF_8)) {
+            return lines
+                    .map(String::trim)
+                    .filter(line -> !line.isEmpty())
+                    .map(Coordinates::parse)
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+        }
+    }
 
-        return grepResults.stream()
-                .map(GrepResult::getText)
-                .flatMap(Pattern.compile("\\R")::splitAsStream)
-                .map(line -> line.replace(String.valueOf(DEPENDENCY_INDEX_DELIMITER), " <- "))
+    private String getDependentsInfo(MappedDependencyIndex index, Coordinates coordinates) {
+        final String dependents = index.dependents(coordinates).stream()
+                .map(Dependent::toString)
                 .collect(Collectors.joining(", \n"));
+        return dependents.isEmpty() ? "no dependents found" : String.format("dependents: %s", dependents);
     }
 
-    private boolean hasAddedArtifact(String artifact) {
-        final Profile indexFile = ProfileBuilder.newBuilder()
-                .name("Added artifacts")
-                .filePath(addedArtifactsListPath)
-                .onLocalhost()
-                .build();
-
-        String pattern = String.format("^%s$", artifact);
-        final GrepResults grepResults = grep(regularExpression(pattern), indexFile);
-
-        return grepResults.totalLines() > 0;
+    private String getTransitiveDependentsInfo(DependencyGraph.Closure closure) {
+        final String dependents = closure.dependents().stream()
+                .map(dependent -> closure.shortestPath(dependent).stream()
+                        .map(Coordinates::toString)
+                        .collect(Collectors.joining(" <- ")))
+                .collect(Collectors.joining(", \n"));
+        return dependents.isEmpty() ? "no dependents found" : String.format("transitive dependents: %s", dependents);
     }
 }
@@ -1,27 +1,14 @@
 package io.quarkus.qe;
 
-import io.restassured.path.xml.XmlPath;
-import org.apache.commons.lang3.StringUtils;
-import org.grep4j.core.model.Profile;
-import org.grep4j.core.model.ProfileBuilder;
-import org.grep4j.core.result.GrepResult;
-import org.grep4j.core.result.GrepResults;
-
 import java.nio.file.Path;
-import java.util.Arrays;
 import java.util.Objects;
 import java.util.stream.Stream;
 
-import static org.grep4j.core.Grep4j.constantExpression;
-import static org.grep4j.core.Grep4j.grep;
-import static org.grep4j.core.fluent.Dictionary.option;
-import static org.grep4j.core.fluent.Dictionary.with;
-import static org.grep4j.core.options.Option.extraLinesAfter;
-
 public final class Artifact {
     private final Path file;
     private final String baseFileName;
     private final Path rootDirectory; // only for toString
+    private Pom pom;
 
     public Artifact(Path file, Path rootDirectory) {
         this.file = file;
@@ -58,7 +45,10 @@ public final class Artifact {
     }
 
     public Pom asPom() {
-        return new Pom();
+        if (pom == null) {
+            pom = new Pom();
+        }
+        return pom;
     }
 
     @Override
@@ -86,13 +76,7 @@ public final class Artifact {
     }
 
     public final class Pom {
-        private static final String DEPENDENCY_TAG = "<dependency>";
-        private static final String DEPENDENCY_CLOSING_TAG = "</dependency>";
-        private static final String GROUP_ID_TAG = "<groupId>";
-        private static final String ARTIFACT_ID_TAG = "<artifactId>";
-        private static final String VERSION_TAG = "<version>";
-        private static final String CLOSING_TAG_START = "</";
-        private static final String EXCLUSIONS_TAG = "<exclusions>";
+        private PomSummary summary;
 
         private Pom() {
             if (!isPom()) {
@@ -100,66 +84,41 @@ public final class Artifact {
             }
         }
 
-        public VersionedCoordinates versionedCoordinates() {
-            XmlPath xml = XmlPath.from(file.toFile());
-            String artifactId = xml.getString("project.artifactId");
-            String groupId = xml.getString("project.groupId");
-            if (groupId == null || groupId.isEmpty()) {
-                groupId = xml.getString("project.parent.groupId");
-            }
-            String version = xml.getString("project.version");
-            if (version == null || version.isEmpty()) {
-                version = xml.getString("project.parent.version");
+        /**
+         * @return summary of the POM, the file is parsed on first access only
+         */
+        public PomSummary summary() {
+            if (summary == null) {
+                summary = PomSummary.read(file);
             }
+            return summary;
+        }
 
-            return new VersionedCoordinates(groupId, artifactId, version);
+        public VersionedCoordinates versionedCoordinates() {
+            return summary().versionedCoordinates();
         }
 
         public Coordinates coordinates() {
             return versionedCoordinates().withoutVersion();
         }
 
+        /**
+         * @return coordinates of the parent POM or {@code null} if the POM has no parent
+         */
         public VersionedCoordinates parentVersionedCoordinates() {
-            XmlPath xml = XmlPath.from(file.toFile());
-            String artifactId = xml.getString("project.parent.artifactId");
-            String groupId = xml.getString("project.parent.groupId");
-            String version = xml.getString("project.parent.version");
-
-            return new VersionedCoordinates(groupId, artifactId, version);
+            return summary().parent();
         }
 
         public Coordinates parentCoordinates() {
-            return parentVersionedCoordinates().withoutVersion();
+            VersionedCoordinates parent = parentVersionedCoordinates();
+            return parent == null ? null : parent.withoutVersion();
         }
 
+        /**
+         * @return GAVs of managed dependencies and dependencies as declared in the POM
+         */
         public Stream<String> getDependenciesGav() {
-            final Profile pomFile = ProfileBuilder.newBuilder()
-                    .name("POM file")
-                    .filePath(file.toString())
-                    .onLocalhost()
-                    .build();
-            final GrepResults grepResults = grep(
-                    constantExpression("<dependency>"),
-                    pomFile,
-                    with(option(extraLinesAfter(6))));
-            return grepResults.stream()
-                    .map(GrepResult::getText)
-                    .flatMap(this::extractDependenciesGav);
-        }
-
-        private Stream<String> extractDependenciesGav(String grepResult) {
-            final String[] dependencies = StringUtils.substringsBetween(grepResult, DEPENDENCY_TAG, DEPENDENCY_CLOSING_TAG);
-            if (dependencies == null) {
-                return Stream.empty();
-            }
-            return Arrays.stream(dependencies)
-                    .map(dep -> StringUtils.substringBefore(dep, EXCLUSIONS_TAG))
-                    .map(dep -> {
-                        final String groupId = StringUtils.substringBetween(dep, GROUP_ID_TAG, CLOSING_TAG_START);
-                        final String artifactId = StringUtils.substringBetween(dep, ARTIFACT_ID_TAG, CLOSING_TAG_START);
-                        final String version = StringUtils.substringBetween(dep, VERSION_TAG, CLOSING_TAG_START);
-                        return String.format("%s:%s:%s", groupId, artifactId, version == null ? "" : version);
-                    });
+            return summary().dependenciesGav();
         }
     }
 }
@@ -0,0 +1,167 @@
+package io.quarkus.qe;
+
+import org.jboss.logging.Logger;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Version matrix of artifacts ({@code groupId:artifactId}) across a sequence of builds, e.g. previous GA, current CR
+ * and nightly. Every build is read once into a sorted {@link GavList} and all lists are merge-joined in one pass,
+ * so the cost grows with the total number of artifacts and not with the number of build pairs.
+ * <p>
+ * Every row holds the versions of the artifact in each build and the {@link GavListDiffer.Category} of every step
+ * between two consecutive builds in which the artifact changed.
+ */
+public class BuildMatrix {
+    private static final Logger LOG = Logger.getLogger(BuildMatrix.class);
+    public static final String REPORT_FILE = "build_matrix.csv";
+    private static final String ARTIFACT_LIST_EXTENSION = ".txt";
+
+    private final List<String> buildNames = new ArrayList<>();
+    private final List<Path> buildPaths = new ArrayList<>();
+
+    public BuildMatrix() {
+        String builds = Objects.requireNonNull(System.getProperty("quarkus.build-matrix.builds"),
+                "System property 'quarkus.build-matrix.builds' expected");
+        for (String build : builds.split(",")) {
+            String trimmed = build.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int separator = trimmed.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Build '" + trimmed + "' expected as name=path");
+            }
+            buildNames.add(trimmed.substring(0, separator));
+            buildPaths.add(Paths.get(trimmed.substring(separator + 1)));
+        }
+        if (buildNames.size() < 2) {
+            throw new IllegalArgumentException("At least two builds expected in 'quarkus.build-matrix.builds'");
+        }
+    }
+
+    public void writeToFile() throws IOException {
+        List<GavList> lists = new ArrayList<>();
+        for (Path buildPath : buildPaths) {
+            lists.add(read(buildPath));
+        }
+        Path reportFile = Paths.get(System.getProperty("user.dir"), REPORT_FILE);
+        Map<GavListDiffer.Category, Integer> counts;
+        try (BufferedWriter writer = Files.newBufferedWriter(reportFile, StandardCharsets.UTF_8)) {
+            counts = write(writer, buildNames, lists);
+        }
+        LOG.infof("Matrix of %d builds written to %s, changes: %s", buildNames.size(), reportFile, counts);
+    }
+
+    /**
+     * @param path artifact list ({@code .txt}) or repository directory or zip, artifacts of a repository
+     * are taken from the paths of its POMs, the POMs are not parsed
+     */
+    static GavList read(Path path) throws IOException {
+        if (Files.isRegularFile(path) && path.getFileName().toString().endsWith(ARTIFACT_LIST_EXTENSION)) {
+            return GavList.read(path);
+        }
+        try (MavenRepo repo = MavenRepo.at(path); Stream<Artifact> artifacts = repo.artifacts()) {
+            return GavList.of(artifacts.map(BuildMatrix::gavOfPath));
+        }
+    }
+
+    private static String gavOfPath(Artifact artifact) {
+        Path versionDirectory = artifact.relativePath().getParent();
+        Path groupDirectory = versionDirectory.getParent().getParent();
+        List<String> groupIdParts = new ArrayList<>();
+        groupDirectory.forEach(part -> groupIdParts.add(part.toString()));
+        return String.join(".", groupIdParts) + ":" + artifact.artifactIdInParentDirName() + ":"
+                + artifact.versionInParentDirName();
+    }
+
+    /**
+     * @return number of steps between consecutive builds per category
+     */
+    static Map<GavListDiffer.Category, Integer> write(BufferedWriter writer, List<String> names, List<GavList> lists)
+            throws IOException {
+        Map<GavListDiffer.Category, Integer> counts = new EnumMap<>(GavListDiffer.Category.class);
+        writer.write("artifact," + String.join(",", names) + ",changes");
+        writer.newLine();
+
+        int[] positions = new int[lists.size()];
+        GavList.Group[] row = new GavList.Group[lists.size()];
+        while (true) {
+            Coordinates next = null;
+            for (int build = 0; build < lists.size(); build++) {
+                List<GavList.Group> groups = lists.get(build).groups();
+                if (positions[build] < groups.size()) {
+                    Coordinates coordinates = groups.get(positions[build]).coordinates();
+                    if (next == null || GavList.COORDINATES_ORDER.compare(coordinates, next) < 0) {
+                        next = coordinates;
+                    }
+                }
+            }
+            if (next == null) {
+                break;
+            }
+            for (int build = 0; build < lists.size(); build++) {
+                List<GavList.Group> groups = lists.get(build).groups();
+                row[build] = null;
+                if (positions[build] < groups.size() && groups.get(positions[build]).coordinates().equals(next)) {
+                    row[build] = groups.get(positions[build]++);
+                }
+            }
+            writeRow(writer, names, next, row, counts);
+        }
+        return counts;
+    }
+
+    private static void writeRow(BufferedWriter writer, List<String> names, Coordinates coordinates, GavList.Group[] row,
+            Map<GavListDiffer.Category, Integer> counts) throws IOException {
+        StringBuilder line = new StringBuilder(coordinates.toString());
+        for (GavList.Group group : row) {
+            line.append(',');
+            if (group != null) {
+                line.append(String.join(" ", group.versions()));
+            }
+        }
+        List<String> changes = new ArrayList<>();
+        for (int build = 1; build < row.length; build++) {
+            GavListDiffer.Category category = classify(row[build - 1], row[build]);
+            if (category != null && category != GavListDiffer.Category.IDENTICAL) {
+                changes.add(names.get(build - 1) + "->" + names.get(build) + " " + category);
+                counts.merge(category, 1, Integer::sum);
+            }
+        }
+        line.append(',').append(String.join(" ", changes));
+        writer.write(line.toString());
+        writer.newLine();
+    }
+
+    /**
+     * @return category of the step, {@code null} if the artifact is in neither build
+     */
+    static GavListDiffer.Category classify(GavList.Group previous, GavList.Group next) {
+        if (previous == null) {
+            return next == null ? null : GavListDiffer.Category.ADDED;
+        }
+        if (next == null) {
+            return GavListDiffer.Category.REMOVED;
+        }
+        if (new HashSet<>(previous.versions()).equals(new HashSet<>(next.versions()))) {
+            return GavListDiffer.Category.IDENTICAL;
+        }
+        if (previous.versions().size() > 1 || next.versions().size() > 1) {
+            return GavListDiffer.Category.MULTIPLE;
+        }
+        return GavListDiffer.classify(previous.versions().get(0), next.versions().get(0));
+    }
+}
@@ -0,0 +1,149 @@
+package io.quarkus.qe;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interning pool of Maven coordinates. Every distinct groupId, artifactId and version string is stored once
+ * and gets a dense int ID, {@code groupId:artifactId} pairs and {@code groupId:artifactId:version} triples
+ * get dense int IDs too. Index structures keep these IDs in primitive arrays instead of coordinate objects,
+ * {@link Coordinates} and {@link VersionedCoordinates} are only created for the results.
+ * <p>
+ * Interning is not thread safe, lookups are once the pool is no longer modified.
+ */
+public final class CoordinatePool {
+    public static final int MISSING = LongIntHashMap.MISSING;
+
+    private final StringTable groupIds = new StringTable();
+    private final StringTable artifactIds = new StringTable();
+    private final StringTable versions = new StringTable();
+
+    private final LongIntHashMap gaIds = new LongIntHashMap();
+    private final IntArrayList gaGroupIds = new IntArrayList();
+    private final IntArrayList gaArtifactIds = new IntArrayList();
+
+    private final LongIntHashMap gavIds = new LongIntHashMap();
+    private final IntArrayList gavGaIds = new IntArrayList();
+    private final IntArrayList gavVersionIds = new IntArrayList();
+
+    /**
+     * @return ID of {@code groupId:artifactId}, added to the pool if not present yet
+     */
+    public int ga(String groupId, String artifactId) {
+        int groupIdId = groupIds.intern(groupId);
+        int artifactIdId = artifactIds.intern(artifactId);
+        int ga = gaIds.putIfAbsent(LongIntHashMap.pack(groupIdId, artifactIdId), gaGroupIds.size());
+        if (ga == MISSING) {
+            ga = gaGroupIds.size();
+            gaGroupIds.add(groupIdId);
+            gaArtifactIds.add(artifactIdId);
+        }
+        return ga;
+    }
+
+    /**
+     * @return ID of {@code groupId:artifactId:version}, added to the pool if not present yet
+     */
+    public int gav(String groupId, String artifactId, String version) {
+        int ga = ga(groupId, artifactId);
+        int versionId = versions.intern(version);
+        int gav = gavIds.putIfAbsent(LongIntHashMap.pack(ga, versionId), gavGaIds.size());
+        if (gav == MISSING) {
+            gav = gavGaIds.size();
+            gavGaIds.add(ga);
+            gavVersionIds.add(versionId);
+        }
+        return gav;
+    }
+
+    /**
+     * @return ID of the coordinates or {@link #MISSING} if they are not in the pool, the pool is not modified
+     */
+    public int findGa(Coordinates coordinates) {
+        int groupIdId = groupIds.find(coordinates.groupId());
+        int artifactIdId = artifactIds.find(coordinates.artifactId());
+        if (groupIdId == MISSING || artifactIdId == MISSING) {
+            return MISSING;
+        }
+        return gaIds.get(LongIntHashMap.pack(groupIdId, artifactIdId));
+    }
+
+    /**
+     * @return ID of the coordinates or {@link #MISSING} if they are not in the pool, the pool is not modified
+     */
+    public int findGav(VersionedCoordinates coordinates) {
+        int ga = findGa(coordinates.withoutVersion());
+        int versionId = versions.find(coordinates.version());
+        if (ga == MISSING || versionId == MISSING) {
+            return MISSING;
+        }
+        return gavIds.get(LongIntHashMap.pack(ga, versionId));
+    }
+
+    public int gaCount() {
+        return gaGroupIds.size();
+    }
+
+    public int gavCount() {
+        return gavGaIds.size();
+    }
+
+    public int gaOf(int gav) {
+        return gavGaIds.get(gav);
+    }
+
+    public String groupId(int ga) {
+        return groupIds.get(gaGroupIds.get(ga));
+    }
+
+    public String artifactId(int ga) {
+        return artifactIds.get(gaArtifactIds.get(ga));
+    }
+
+    public String version(int gav) {
+        return versions.get(gavVersionIds.get(gav));
+    }
+
+    public Coordinates coordinates(int ga) {
+        return new Coordinates(groupId(ga), artifactId(ga));
+    }
+
+    public VersionedCoordinates versionedCoordinates(int gav) {
+        int ga = gaOf(gav);
+        return new VersionedCoordinates(groupId(ga), artifactId(ga), version(gav));
+    }
+
+    /**
+     * @return {@code groupId:artifactId:version} of the ID, cheaper than going through {@link VersionedCoordinates}
+     */
+    public String gavString(int gav) {
+        int ga = gaOf(gav);
+        return groupId(ga) + ":" + artifactId(ga) + ":" + version(gav);
+    }
+
+    private static final class StringTable {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        private int intern(String value) {
+            Integer id = ids.get(value);
+            if (id == null) {
+                id = values.size();
+                ids.put(value, id);
+                values.add(value);
+            }
+            return id;
+        }
+
+        private int find(String value) {
+            Integer id = ids.get(value);
+            return id == null ? MISSING : id;
+        }
+
+        private String get(int id) {
+            return values.get(id);
+        }
+    }
+}
@@ -0,0 +1,351 @@
+package io.quarkus.qe;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.function.ToIntFunction;
+
+/**
+ * Graph of the dependencies declared by the repository POMs, one node per {@code groupId:artifactId}.
+ * Nodes are identified by the dense GA IDs of the index and the reverse edges (dependency to its dependents)
+ * are kept in primitive adjacency arrays, so walking the dependents of a node allocates nothing.
+ * <p>
+ * Dependents closures are shared between targets. The strongly connected components of the reverse graph are
+ * computed once, so the components form a DAG. A closure walks breadth-first only inside the component of its
+ * target. Every dependent outside of it contributes its own closure, which is computed the same way and memoized.
+ * Artifacts with common dependents therefore reuse the closures of those dependents instead of walking them again.
+ * The memo is least recently used and bounded by the total number of closure entries, not by the number of
+ * closures, so memory stays flat however many artifacts are queried.
+ * <p>
+ * Only dependencies which are pulled in transitively are used, see {@link DependencyIndex#isTransitive(int)}:
+ * managed-only, optional and test, provided or import scoped dependencies are ignored.
+ */
+public final class DependencyGraph {
+    // 4M entries of three ints, about 48 MB
+    static final int DEFAULT_MEMO_ENTRIES = 1 << 22;
+
+    private final int size;
+    private final IntFunction<Coordinates> nodeCoordinates;
+    private final ToIntFunction<Coordinates> nodeIds;
+    // dependents of node n are dependents[dependentsStart[n]] .. dependents[dependentsStart[n + 1] - 1]
+    private final int[] dependentsStart;
+    private final int[] dependents;
+    // strongly connected component of every node
+    private final int[] components;
+    private final int memoEntries;
+    private final Map<Integer, Closure> memo = new LinkedHashMap<>(16, 0.75f, true);
+    private long memoizedEntries;
+
+    private DependencyGraph(int size, IntFunction<Coordinates> nodeCoordinates, ToIntFunction<Coordinates> nodeIds,
+            int[] dependentsStart, int[] dependents, int memoEntries) {
+        this.size = size;
+        this.nodeCoordinates = nodeCoordinates;
+        this.nodeIds = nodeIds;
+        this.dependentsStart = dependentsStart;
+        this.dependents = dependents;
+        this.components = components(size, dependentsStart, dependents);
+        this.memoEntries = memoEntries;
+    }
+
+    /**
+     * Nodes are the {@code groupId:artifactId} IDs of the index pool, the index edges are already grouped
+     * by their dependency, so the reverse adjacency is one filtering pass over them.
+     */
+    public static DependencyGraph of(DependencyIndex index) {
+        CoordinatePool pool = index.pool();
+        return of(pool.gaCount(), pool::coordinates, pool::findGa, index::dependentsFrom, index::dependentsTo,
+                edge -> pool.gaOf(index.dependentGav(edge)), index::isTransitive, DEFAULT_MEMO_ENTRIES);
+    }
+
+    /**
+     * Same as {@link #of(DependencyIndex)} with the GA IDs of the mapped index file.
+     */
+    public static DependencyGraph of(MappedDependencyIndex index) {
+        return of(index.gaCount(), index::coordinates, index::findGa, index::dependentsFrom, index::dependentsTo,
+                edge -> index.gaOf(index.dependentGav(edge)), index::isTransitive, DEFAULT_MEMO_ENTRIES);
+    }
+
+    /**
+     * @param memoEntries how many closure entries are kept memoized in total
+     */
+    static DependencyGraph of(int nodeCount, IntFunction<Coordinates> nodeCoordinates,
+            ToIntFunction<Coordinates> nodeIds, IntUnaryOperator edgesFrom, IntUnaryOperator edgesTo,
+            IntUnaryOperator dependentNode, IntPredicate transitive, int memoEntries) {
+        int[] dependentsStart = new int[nodeCount + 1];
+        IntArrayList dependents = new IntArrayList();
+        for (int node = 0; node < nodeCount; node++) {
+            dependentsStart[node] = dependents.size();
+            for (int edge = edgesFrom.applyAsInt(node); edge < edgesTo.applyAsInt(node); edge++) {
+                int dependent = dependentNode.applyAsInt(edge);
+                if (transitive.test(edge) && dependent != node) {
+                    dependents.add(dependent);
+                }
+            }
+        }
+        dependentsStart[nodeCount] = dependents.size();
+        return new DependencyGraph(nodeCount, nodeCoordinates, nodeIds, dependentsStart, dependents.toArray(),
+                memoEntries);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return all artifacts transitively depending on the given one with their shortest dependency paths,
+     * built from the memoized closures of its dependents outside of its own component
+     */
+    public synchronized Closure dependentsClosure(Coordinates target) {
+        int id = nodeIds.applyAsInt(target);
+        if (id == CoordinatePool.MISSING) {
+            return new Closure(-1, new int[0], new int[0], new int[0]);
+        }
+        return closure(id);
+    }
+
+    /**
+     * Walk the dependents of the target only until the dependent is reached, nothing is kept after the call.
+     * Used for single queries where the whole closure isn't needed.
+     *
+     * @return shortest dependency chain from the dependent to the target, both included,
+     * empty if the dependent doesn't reach the target
+     */
+    public List<Coordinates> shortestPath(Coordinates target, Coordinates dependent) {
+        int targetId = nodeIds.applyAsInt(target);
+        int dependentId = nodeIds.applyAsInt(dependent);
+        if (targetId == CoordinatePool.MISSING || dependentId == CoordinatePool.MISSING || targetId == dependentId) {
+            return Collections.emptyList();
+        }
+        LongIntHashMap nextHop = new LongIntHashMap(16);
+        nextHop.putIfAbsent(targetId, targetId);
+        IntArrayList queue = new IntArrayList();
+        queue.add(targetId);
+        for (int head = 0; head < queue.size(); head++) {
+            int node = queue.get(head);
+            for (int i = dependentsStart[node]; i < dependentsStart[node + 1]; i++) {
+                int next = dependents[i];
+                if (nextHop.putIfAbsent(next, node) != LongIntHashMap.MISSING) {
+                    continue;
+                }
+                if (next == dependentId) {
+                    List<Coordinates> path = new ArrayList<>();
+                    for (int current = dependentId; current != targetId; current = nextHop.get(current)) {
+                        path.add(nodeCoordinates.apply(current));
+                    }
+                    path.add(nodeCoordinates.apply(targetId));
+                    return path;
+                }
+                queue.add(next);
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    private Closure closure(int target) {
+        Closure closure = memo.get(target);
+        if (closure == null) {
+            closure = sharedDependents(target);
+            memo.put(target, closure);
+            memoizedEntries += closure.size();
+            Iterator<Closure> leastRecentlyUsed = memo.values().iterator();
+            while (memoizedEntries > memoEntries && memo.size() > 1) {
+                memoizedEntries -= leastRecentlyUsed.next().size();
+                leastRecentlyUsed.remove();
+            }
+        }
+        return closure;
+    }
+
+    /**
+     * Breadth-first walk inside the component of the target, the dependents leaving the component aren't walked.
+     * Their memoized closures are merged instead, shifted by their distance from the target.
+     * A dependent keeps the shortest distance and the next hop of the closure which gave it.
+     */
+    private Closure sharedDependents(int target) {
+        LongIntHashMap positions = new LongIntHashMap(16);
+        IntArrayList nodes = new IntArrayList();
+        IntArrayList distances = new IntArrayList();
+        IntArrayList nextHops = new IntArrayList();
+        positions.putIfAbsent(target, 0);
+        nodes.add(target);
+        distances.add(0);
+        nextHops.add(target);
+        for (int head = 0; head < nodes.size(); head++) {
+            int node = nodes.get(head);
+            if (components[node] != components[target]) {
+                continue;
+            }
+            for (int i = dependentsStart[node]; i < dependentsStart[node + 1]; i++) {
+                int dependent = dependents[i];
+                if (positions.putIfAbsent(dependent, nodes.size()) == LongIntHashMap.MISSING) {
+                    nodes.add(dependent);
+                    distances.add(distances.get(head) + 1);
+                    nextHops.add(node);
+                }
+            }
+        }
+        // dependents leaving the component can't reach it again, so their closures are already final
+        int walked = nodes.size();
+        for (int exit = 1; exit < walked; exit++) {
+            int node = nodes.get(exit);
+            if (components[node] == components[target]) {
+                continue;
+            }
+            Closure shared = closure(node);
+            int distance = distances.get(exit);
+            for (int i = 0; i < shared.nodes.length; i++) {
+                int reached = distance + shared.distances[i];
+                int position = positions.putIfAbsent(shared.nodes[i], nodes.size());
+                if (position == LongIntHashMap.MISSING) {
+                    nodes.add(shared.nodes[i]);
+                    distances.add(reached);
+                    nextHops.add(shared.nextHops[i]);
+                } else if (reached < distances.get(position)) {
+                    distances.set(position, reached);
+                    nextHops.set(position, shared.nextHops[i]);
+                }
+            }
+        }
+        // the target itself is not its own dependent, the rest is sorted by node ID for lookups
+        long[] byNode = new long[nodes.size() - 1];
+        for (int position = 1; position < nodes.size(); position++) {
+            byNode[position - 1] = LongIntHashMap.pack(nodes.get(position), position);
+        }
+        Arrays.sort(byNode);
+        int[] sortedNodes = new int[byNode.length];
+        int[] sortedDistances = new int[byNode.length];
+        int[] sortedNextHops = new int[byNode.length];
+        for (int i = 0; i < byNode.length; i++) {
+            int position = (int) byNode[i];
+            sortedNodes[i] = nodes.get(position);
+            sortedDistances[i] = distances.get(position);
+            sortedNextHops[i] = nextHops.get(position);
+        }
+        return new Closure(target, sortedNodes, sortedDistances, sortedNextHops);
+    }
+
+    /**
+     * Iterative Tarjan's algorithm over the reverse edges.
+     *
+     * @return component ID of every node
+     */
+    private static int[] components(int size, int[] dependentsStart, int[] dependents) {
+        int[] components = new int[size];
+        int[] order = new int[size];
+        int[] lowLink = new int[size];
+        int[] nextEdge = new int[size];
+        boolean[] onStack = new boolean[size];
+        int[] stack = new int[size];
+        int[] callStack = new int[size];
+        Arrays.fill(order, -1);
+        int stackSize = 0;
+        int visited = 0;
+        int componentCount = 0;
+        for (int root = 0; root < size; root++) {
+            if (order[root] >= 0) {
+                continue;
+            }
+            int depth = 0;
+            callStack[depth++] = root;
+            order[root] = lowLink[root] = visited++;
+            nextEdge[root] = dependentsStart[root];
+            stack[stackSize++] = root;
+            onStack[root] = true;
+            while (depth > 0) {
+                int node = callStack[depth - 1];
+                if (nextEdge[node] < dependentsStart[node + 1]) {
+                    int dependent = dependents[nextEdge[node]++];
+                    if (order[dependent] < 0) {
+                        order[dependent] = lowLink[dependent] = visited++;
+                        nextEdge[dependent] = dependentsStart[dependent];
+                        stack[stackSize++] = dependent;
+                        onStack[dependent] = true;
+                        callStack[depth++] = dependent;
+                    } else if (onStack[dependent]) {
+                        lowLink[node] = Math.min(lowLink[node], order[dependent]);
+                    }
+                    continue;
+                }
+                depth--;
+                if (lowLink[node] == order[node]) {
+                    int member;
+                    do {
+                        member = stack[--stackSize];
+                        onStack[member] = false;
+                        components[member] = componentCount;
+                    } while (member != node);
+                    componentCount++;
+                }
+                if (depth > 0) {
+                    int caller = callStack[depth - 1];
+                    lowLink[caller] = Math.min(lowLink[caller], lowLink[node]);
+                }
+            }
+        }
+        return components;
+    }
+
+    /**
+     * Artifacts reaching a target artifact through their dependencies, ordered by their distance from the target.
+     */
+    public final class Closure {
+        private final int target;
+        // sorted by node ID, with the distance from the target and the next node towards it
+        private final int[] nodes;
+        private final int[] distances;
+        private final int[] nextHops;
+
+        private Closure(int target, int[] nodes, int[] distances, int[] nextHops) {
+            this.target = target;
+            this.nodes = nodes;
+            this.distances = distances;
+            this.nextHops = nextHops;
+        }
+
+        public int size() {
+            return nodes.length;
+        }
+
+        /**
+         * @return transitive dependents, direct dependents first
+         */
+        public List<Coordinates> dependents() {
+            long[] byDistance = new long[nodes.length];
+            for (int i = 0; i < nodes.length; i++) {
+                byDistance[i] = LongIntHashMap.pack(distances[i], nodes[i]);
+            }
+            Arrays.sort(byDistance);
+            List<Coordinates> result = new ArrayList<>(nodes.length);
+            for (long member : byDistance) {
+                result.add(nodeCoordinates.apply((int) member));
+            }
+            return result;
+        }
+
+        /**
+         * @return shortest dependency chain from the dependent to the target, both included,
+         * empty if the dependent doesn't reach the target
+         */
+        public List<Coordinates> shortestPath(Coordinates dependent) {
+            int node = nodeIds.applyAsInt(dependent);
+            if (target < 0 || node == CoordinatePool.MISSING || Arrays.binarySearch(nodes, node) < 0) {
+                return Collections.emptyList();
+            }
+            List<Coordinates> path = new ArrayList<>();
+            int current = node;
+            while (current != target) {
+                path.add(nodeCoordinates.apply(current));
+                current = nextHops[Arrays.binarySearch(nodes, current)];
+            }
+            path.add(nodeCoordinates.apply(target));
+            return path;
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package io.quarkus.qe;
+
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * In-memory index of a Maven repository. It maps every artifact to the versions present in the repository
+ * and, in reverse, every dependency to the artifacts declaring it, so both lookups are constant time.
+ * <p>
+ * Coordinates are interned in a {@link CoordinatePool} and the index keeps only int arrays of their IDs
+ * grouped by the {@code groupId:artifactId} ID, the result objects are created on demand.
+ */
+public final class DependencyIndex {
+    private static final Logger LOG = Logger.getLogger(DependencyIndex.class);
+    private static final Set<String> NON_TRANSITIVE_SCOPES = Set.of("test", "provided", "import");
+
+    private final CoordinatePool pool;
+    // artifacts of GA n are artifactGavs[artifactsStart[n]] .. artifactGavs[artifactsStart[n + 1] - 1]
+    private final int[] artifactsStart;
+    private final int[] artifactGavs;
+    // declarations of a dependency on GA n are the edges dependentsStart[n] .. dependentsStart[n + 1] - 1
+    private final int[] dependentsStart;
+    private final int[] dependentGavs;
+    private final int[] dependencyGavs;
+    private final BitSet transitiveEdges;
+
+    private DependencyIndex(CoordinatePool pool, int[] artifactsStart, int[] artifactGavs, int[] dependentsStart,
+            int[] dependentGavs, int[] dependencyGavs, BitSet transitiveEdges) {
+        this.pool = pool;
+        this.artifactsStart = artifactsStart;
+        this.artifactGavs = artifactGavs;
+        this.dependentsStart = dependentsStart;
+        this.dependentGavs = dependentGavs;
+        this.dependencyGavs = dependencyGavs;
+        this.transitiveEdges = transitiveEdges;
+    }
+
+    /**
+     * Build the index with a single pass over all POMs of the repository. POMs are parsed and resolved
+     * by {@link EffectivePomResolver} in parallel and added to the index in the repository order.
+     */
+    public static DependencyIndex of(MavenRepo repo) throws IOException {
+        return of(repo, artifact -> artifact.asPom().summary());
+    }
+
+    /**
+     * Build the index like {@link #of(MavenRepo)}, only new or changed POMs are parsed, the others come from the cache.
+     */
+    public static DependencyIndex of(MavenRepo repo, PomSummaryCache cache) throws IOException {
+        return of(repo, cache::summary);
+    }
+
+    private static DependencyIndex of(MavenRepo repo, Function<Artifact, PomSummary> summaries) throws IOException {
+        RunMetrics metrics = RunMetrics.get();
+        List<PomSummary> declaredPoms;
+        try (Stream<Artifact> artifacts = repo.artifacts(); RunMetrics.Phase phase = metrics.phase("parse")) {
+            declaredPoms = artifacts
+                    .parallel()
+                    .peek(artifact -> LOG.debug(String.valueOf(artifact)))
+                    .map(summaries)
+                    .collect(Collectors.toList());
+        }
+        List<PomSummary> poms;
+        try (RunMetrics.Phase phase = metrics.phase("resolve")) {
+            EffectivePomResolver resolver = new EffectivePomResolver(declaredPoms);
+            poms = declaredPoms.parallelStream()
+                    .map(resolver::resolve)
+                    .collect(Collectors.toList());
+        }
+        try (RunMetrics.Phase phase = metrics.phase("index")) {
+            return of(poms);
+        }
+    }
+
+    /**
+     * @param poms resolved POM summaries in the order they should be indexed
+     */
+    public static DependencyIndex of(List<PomSummary> poms) {
+        Builder builder = new Builder();
+        poms.forEach(builder::add);
+        return builder.build();
+    }
+
+    public CoordinatePool pool() {
+        return pool;
+    }
+
+    /**
+     * @return coordinates of all artifacts present in the repository
+     */
+    public Set<Coordinates> coordinates() {
+        Set<Coordinates> coordinates = new LinkedHashSet<>();
+        for (int ga = 0; ga < pool.gaCount(); ga++) {
+            if (artifactsFrom(ga) < artifactsTo(ga)) {
+                coordinates.add(pool.coordinates(ga));
+            }
+        }
+        return Collections.unmodifiableSet(coordinates);
+    }
+
+    /**
+     * @return versions of the artifact present in the repository, empty if the artifact isn't there
+     */
+    public Set<String> versions(Coordinates coordinates) {
+        int ga = pool.findGa(coordinates);
+        if (ga == CoordinatePool.MISSING) {
+            return Collections.emptySet();
+        }
+        Set<String> versions = new LinkedHashSet<>();
+        for (int i = artifactsFrom(ga); i < artifactsTo(ga); i++) {
+            versions.add(pool.version(artifactGavs[i]));
+        }
+        return Collections.unmodifiableSet(versions);
+    }
+
+    /**
+     * @return artifacts of the repository declaring a dependency on any version of given artifact
+     */
+    public Set<Dependent> dependents(Coordinates coordinates) {
+        int ga = pool.findGa(coordinates);
+        if (ga == CoordinatePool.MISSING) {
+            return Collections.emptySet();
+        }
+        Set<Dependent> dependents = new LinkedHashSet<>();
+        for (int edge = dependentsFrom(ga); edge < dependentsTo(ga); edge++) {
+            dependents.add(new Dependent(pool.versionedCoordinates(dependentGavs[edge]),
+                    pool.gavString(dependencyGavs[edge])));
+        }
+        return Collections.unmodifiableSet(dependents);
+    }
+
+    int artifactsFrom(int ga) {
+        return artifactsStart[ga];
+    }
+
+    int artifactsTo(int ga) {
+        return artifactsStart[ga + 1];
+    }
+
+    int artifactCount() {
+        return artifactGavs.length;
+    }
+
+    int artifactGav(int index) {
+        return artifactGavs[index];
+    }
+
+    /**
+     * @return first edge declaring a dependency on the GA, the edges of one GA are contiguous
+     */
+    int dependentsFrom(int ga) {
+        return dependentsStart[ga];
+    }
+
+    /**
+     * @return edge after the last edge declaring a dependency on the GA
+     */
+    int dependentsTo(int ga) {
+        return dependentsStart[ga + 1];
+    }
+
+    int edgeCount() {
+        return dependentGavs.length;
+    }
+
+    int dependentGav(int edge) {
+        return dependentGavs[edge];
+    }
+
+    int dependencyGav(int edge) {
+        return dependencyGavs[edge];
+    }
+
+    /**
+     * @return true if the edge is a declared dependency pulled in transitively, i.e. not only managed,
+     * not optional and not in test, provided or import scope
+     */
+    boolean isTransitive(int edge) {
+        return transitiveEdges.get(edge);
+    }
+
+    private static final class Builder {
+        private final CoordinatePool pool = new CoordinatePool();
+        private final BitSet indexedArtifacts = new BitSet();
+        private final IntArrayList artifactGavs = new IntArrayList();
+        // edge ID by the packed dependent and dependency GAV IDs, each declaration is kept once
+        private final LongIntHashMap edgeIds = new LongIntHashMap();
+        private final IntArrayList dependentGavs = new IntArrayList();
+        private final IntArrayList dependencyGavs = new IntArrayList();
+        private final BitSet transitiveEdges = new BitSet();
+
+        private void add(PomSummary pom) {
+            VersionedCoordinates coordinates = pom.versionedCoordinates();
+            int gav = pool.gav(coordinates.groupId(), coordinates.artifactId(), coordinates.version());
+            if (!indexedArtifacts.get(gav)) {
+                indexedArtifacts.set(gav);
+                artifactGavs.add(gav);
+            }
+            pom.dependencyManagement().forEach(dependency -> addEdge(gav, dependency, false));
+            pom.dependencies().forEach(dependency -> addEdge(gav, dependency, !dependency.optional()
+                    && (dependency.scope() == null || !NON_TRANSITIVE_SCOPES.contains(dependency.scope()))));
+        }
+
+        private void addEdge(int dependentGav, PomSummary.Dependency dependency, boolean transitive) {
+            int dependencyGav = pool.gav(String.valueOf(dependency.groupId()), String.valueOf(dependency.artifactId()),
+                    dependency.version() == null ? "" : dependency.version());
+            int edge = edgeIds.putIfAbsent(LongIntHashMap.pack(dependentGav, dependencyGav), dependentGavs.size());
+            if (edge == LongIntHashMap.MISSING) {
+                edge = dependentGavs.size();
+                dependentGavs.add(dependentGav);
+                dependencyGavs.add(dependencyGav);
+            }
+            if (transitive) {
+                transitiveEdges.set(edge);
+            }
+        }
+
+        /**
+         * Group the artifacts and the edges by their GA with a stable counting sort, which keeps the repository order.
+         */
+        private DependencyIndex build() {
+            int gaCount = pool.gaCount();
+
+            int[] artifactsStart = new int[gaCount + 1];
+            for (int i = 0; i < artifactGavs.size(); i++) {
+                artifactsStart[pool.gaOf(artifactGavs.get(i)) + 1]++;
+            }
+            prefixSum(artifactsStart);
+            int[] sortedArtifacts = new int[artifactGavs.size()];
+            int[] artifactsFill = artifactsStart.clone();
+            for (int i = 0; i < artifactGavs.size(); i++) {
+                int gav = artifactGavs.get(i);
+                sortedArtifacts[artifactsFill[pool.gaOf(gav)]++] = gav;
+            }
+
+            int edgeCount = dependentGavs.size();
+            int[] dependentsStart = new int[gaCount + 1];
+            for (int edge = 0; edge < edgeCount; edge++) {
+                dependentsStart[pool.gaOf(dependencyGavs.get(edge)) + 1]++;
+            }
+            prefixSum(dependentsStart);
+            int[] sortedDependents = new int[edgeCount];
+            int[] sortedDependencies = new int[edgeCount];
+            BitSet sortedTransitive = new BitSet(edgeCount);
+            int[] edgesFill = dependentsStart.clone();
+            for (int edge = 0; edge < edgeCount; edge++) {
+                int position = edgesFill[pool.gaOf(dependencyGavs.get(edge))]++;
+                sortedDependents[position] = dependentGavs.get(edge);
+                sortedDependencies[position] = dependencyGavs.get(edge);
+                sortedTransitive.set(position, transitiveEdges.get(edge));
+            }
+
+            LOG.debugf("Indexed %d artifacts with %d dependency declarations, %d GAs and %d GAVs interned",
+                    sortedArtifacts.length, edgeCount, gaCount, pool.gavCount());
+            return new DependencyIndex(pool, artifactsStart, sortedArtifacts, dependentsStart, sortedDependents,
+                    sortedDependencies, sortedTransitive);
+        }
+
+        private static void prefixSum(int[] counts) {
+            for (int i = 1; i < counts.length; i++) {
+                counts[i] += counts[i - 1];
+            }
+        }
+    }
+}
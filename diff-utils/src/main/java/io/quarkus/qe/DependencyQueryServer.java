@@ -0,0 +1,391 @@
+package io.quarkus.qe;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.jboss.logging.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Local HTTP server answering dependency queries from an in-memory {@link DependencyIndex} of one repository,
+ * so repeated questions during a release triage don't re-index the repository. All responses are JSON:
+ * <ul>
+ * <li>{@code /dependents?artifact=g:a} artifacts declaring a dependency on any version of the artifact</li>
+ * <li>{@code /dependencies?artifact=g:a:v} dependencies declared by the artifact, all versions for {@code g:a}</li>
+ * <li>{@code /versions?artifact=g:a} versions of the artifact in the repository</li>
+ * <li>{@code /path?artifact=g:a&dependent=g:a} shortest transitive dependency chain from the dependent to the artifact</li>
+ * <li>{@code /status} size and fingerprint of the loaded index</li>
+ * </ul>
+ * The repository is checked for changes periodically, when its fingerprint changes the index is rebuilt in the
+ * background and swapped in, only new or changed POMs are parsed again. The fingerprint of a directory stats every
+ * POM, so each check first looks at a cheap {@link ChangeSignal} and computes the fingerprint only after it fired.
+ */
+public class DependencyQueryServer {
+    private static final Logger LOG = Logger.getLogger(DependencyQueryServer.class);
+    private static final int DEFAULT_PORT = 8090;
+    private static final int DEFAULT_RELOAD_INTERVAL_SECONDS = 10;
+
+    private final Path mavenRepoPath;
+    private final int port;
+    private final int reloadIntervalSeconds;
+    private PomSummaryCache cache;
+    private ChangeSignal changeSignal;
+    // the signal fired but the reload failed, the next check reloads without waiting for another change
+    private boolean reloadPending;
+    private volatile Snapshot snapshot;
+
+    public DependencyQueryServer() {
+        mavenRepoPath = Paths.get(Objects.requireNonNull(System.getProperty("quarkus.maven.dir"),
+                "System property 'quarkus.maven.dir' expected"));
+        port = Integer.getInteger("quarkus.server.port", DEFAULT_PORT);
+        reloadIntervalSeconds = Integer.getInteger("quarkus.server.reload-interval", DEFAULT_RELOAD_INTERVAL_SECONDS);
+    }
+
+    /**
+     * Load the index and serve queries until the process is stopped.
+     */
+    public void run() throws IOException {
+        cache = PomSummaryCache.load();
+        // watched before the first fingerprint, changes made while indexing fire the signal
+        changeSignal = reloadIntervalSeconds > 0 ? ChangeSignal.of(mavenRepoPath) : null;
+        try (MavenRepo repo = MavenRepo.at(mavenRepoPath)) {
+            snapshot = load(repo, repo.fingerprint());
+        }
+
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        server.createContext("/dependents", exchange -> respond(exchange, this::dependents));
+        server.createContext("/dependencies", exchange -> respond(exchange, this::dependencies));
+        server.createContext("/versions", exchange -> respond(exchange, this::versions));
+        server.createContext("/path", exchange -> respond(exchange, this::path));
+        server.createContext("/status", exchange -> respond(exchange, parameters -> snapshot.status()));
+        server.setExecutor(Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors()));
+
+        ScheduledExecutorService reloader = Executors.newSingleThreadScheduledExecutor();
+        if (reloadIntervalSeconds > 0) {
+            reloader.scheduleWithFixedDelay(this::reloadIfChanged, reloadIntervalSeconds, reloadIntervalSeconds,
+                    TimeUnit.SECONDS);
+        }
+        server.start();
+        LOG.infof("Serving dependency queries of %s on http://localhost:%d", mavenRepoPath, server.getAddress().getPort());
+
+        CountDownLatch stopped = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            reloader.shutdownNow();
+            server.stop(0);
+            if (changeSignal != null) {
+                changeSignal.close();
+            }
+            stopped.countDown();
+        }));
+        try {
+            stopped.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Snapshot load(MavenRepo repo, String fingerprint) throws IOException {
+        long start = System.nanoTime();
+        DependencyIndex index = DependencyIndex.of(repo, cache);
+        cache.save();
+        cache = cache.next();
+        Snapshot loaded = new Snapshot(index, fingerprint);
+        LOG.infof("Indexed %d artifacts of %s in %d ms", index.coordinates().size(), repo,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return loaded;
+    }
+
+    private void reloadIfChanged() {
+        try {
+            if (!reloadPending && !changeSignal.fired()) {
+                return;
+            }
+        } catch (IOException e) {
+            // e.g. the zip is being replaced, the fingerprint reports it if it persists
+            LOG.debugf("Failed to check %s for changes: %s", mavenRepoPath, e);
+        }
+        reloadPending = true;
+        try (MavenRepo repo = MavenRepo.at(mavenRepoPath)) {
+            String fingerprint = repo.fingerprint();
+            if (!fingerprint.equals(snapshot.fingerprint)) {
+                LOG.infof("%s has changed, reloading", repo);
+                snapshot = load(repo, fingerprint);
+            }
+            reloadPending = false;
+        } catch (IOException | RuntimeException e) {
+            // keep serving the previous index
+            LOG.warnf("Failed to reload %s: %s", mavenRepoPath, e);
+        }
+    }
+
+    private String dependents(Map<String, String> parameters) {
+        Snapshot current = snapshot;
+        List<String> dependents = new ArrayList<>();
+        for (Dependent dependent : current.index.dependents(Coordinates.parse(parameter(parameters, "artifact")))) {
+            dependents.add("{\"dependent\":" + Json.quote(dependent.coordinates().toString())
+                    + ",\"dependency\":" + Json.quote(dependent.dependency()) + "}");
+        }
+        return "[" + String.join(",", dependents) + "]";
+    }
+
+    private String dependencies(Map<String, String> parameters) {
+        Snapshot current = snapshot;
+        String artifact = parameter(parameters, "artifact");
+        String[] parts = artifact.split(":");
+        List<String> dependencies = new ArrayList<>();
+        if (parts.length == 3) {
+            current.appendDependencies(current.index.pool().findGav(new VersionedCoordinates(parts[0], parts[1], parts[2])),
+                    dependencies);
+        } else {
+            Coordinates coordinates = Coordinates.parse(artifact);
+            for (String version : current.index.versions(coordinates)) {
+                current.appendDependencies(current.index.pool().findGav(
+                        new VersionedCoordinates(coordinates.groupId(), coordinates.artifactId(), version)), dependencies);
+            }
+        }
+        return "[" + String.join(",", dependencies) + "]";
+    }
+
+    private String versions(Map<String, String> parameters) {
+        return Json.array(snapshot.index.versions(Coordinates.parse(parameter(parameters, "artifact"))));
+    }
+
+    private String path(Map<String, String> parameters) {
+        Snapshot current = snapshot;
+        Coordinates artifact = Coordinates.parse(parameter(parameters, "artifact"));
+        Coordinates dependent = Coordinates.parse(parameter(parameters, "dependent"));
+        // uncached early-exit walk, ad-hoc queries must not grow the heap of the long-running server
+        return Json.array(current.graph.shortestPath(artifact, dependent));
+    }
+
+    private static String parameter(Map<String, String> parameters, String name) {
+        String value = parameters.get(name);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Query parameter '" + name + "' expected");
+        }
+        return value.trim();
+    }
+
+    private static void respond(HttpExchange exchange, Function<Map<String, String>, String> query) throws IOException {
+        int status = 200;
+        String body;
+        try {
+            body = query.apply(parameters(exchange.getRequestURI().getRawQuery()));
+        } catch (IllegalArgumentException e) {
+            status = 400;
+            body = "{\"error\":" + Json.quote(e.getMessage()) + "}";
+        } catch (RuntimeException e) {
+            LOG.warnf("Failed to answer %s: %s", exchange.getRequestURI(), e);
+            status = 500;
+            body = "{\"error\":" + Json.quote(String.valueOf(e)) + "}";
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static Map<String, String> parameters(String rawQuery) {
+        Map<String, String> parameters = new HashMap<>();
+        if (rawQuery == null) {
+            return parameters;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0) {
+                parameters.put(URLDecoder.decode(pair.substring(0, separator), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return parameters;
+    }
+
+    /**
+     * Cheap check whether the repository may have changed since the previous check, it never misses a change but
+     * may fire for changes the fingerprint ignores. A zip archive is checked by the size and modification time of the
+     * zip file, without opening its file system. A directory is watched by a {@link WatchService} registered on every
+     * directory of the repository (inotify on Linux), new directories are registered as they appear. When the
+     * directories can't be watched, e.g. the inotify watch limit is reached, the signal fires on every check and the
+     * server falls back to the full fingerprint.
+     */
+    private static final class ChangeSignal implements Closeable {
+        private final Path location;
+        private final boolean zip;
+        private String zipState;
+        private WatchService watchService;
+
+        private ChangeSignal(Path location, boolean zip) {
+            this.location = location;
+            this.zip = zip;
+        }
+
+        private static ChangeSignal of(Path location) throws IOException {
+            Path normalizedLocation = location.toAbsolutePath().normalize();
+            if (!Files.isDirectory(normalizedLocation)) {
+                ChangeSignal signal = new ChangeSignal(normalizedLocation, true);
+                signal.zipState = zipState(normalizedLocation);
+                return signal;
+            }
+            ChangeSignal signal = new ChangeSignal(normalizedLocation, false);
+            signal.watchService = FileSystems.getDefault().newWatchService();
+            if (!signal.register(normalizedLocation)) {
+                LOG.infof("Computing the fingerprint of %s on every check", normalizedLocation);
+            }
+            return signal;
+        }
+
+        /**
+         * @return true if the repository may have changed since the previous call
+         */
+        private boolean fired() throws IOException {
+            if (zip) {
+                String state = zipState(location);
+                boolean changed = !state.equals(zipState);
+                zipState = state;
+                return changed;
+            }
+            if (watchService == null) {
+                return true;
+            }
+            boolean changed = false;
+            for (WatchKey key = watchService.poll(); key != null; key = watchService.poll()) {
+                Path directory = (Path) key.watchable();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    changed = true;
+                    // lost events may include new directories, registering a watched directory again is a no-op
+                    Path created = event.kind() == StandardWatchEventKinds.OVERFLOW ? location
+                            : event.kind() == StandardWatchEventKinds.ENTRY_CREATE
+                                    ? directory.resolve((Path) event.context()) : null;
+                    if (created != null && Files.isDirectory(created, LinkOption.NOFOLLOW_LINKS) && !register(created)) {
+                        return true;
+                    }
+                }
+                key.reset();
+            }
+            return changed;
+        }
+
+        /**
+         * Watch the directory and all directories below it, stop watching on failure.
+         *
+         * @return false if the directories can't be watched
+         */
+        private boolean register(Path directory) throws IOException {
+            try {
+                Files.walkFileTree(directory, new SimpleFileVisitor<>() {
+                    @Override
+                    public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attributes) throws IOException {
+                        dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                                StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+                return true;
+            } catch (IOException e) {
+                LOG.warnf("Failed to watch %s: %s", directory, e);
+                close();
+                return false;
+            }
+        }
+
+        private static String zipState(Path zipFile) throws IOException {
+            BasicFileAttributes attributes = Files.readAttributes(zipFile, BasicFileAttributes.class);
+            return attributes.size() + ":" + attributes.lastModifiedTime().toMillis();
+        }
+
+        @Override
+        public void close() {
+            if (watchService != null) {
+                try {
+                    watchService.close();
+                } catch (IOException e) {
+                    LOG.debugf("Failed to close watch service: %s", e);
+                }
+                watchService = null;
+            }
+        }
+    }
+
+    /**
+     * Index of one repository state with the lookups the index doesn't keep: the graph for transitive paths and
+     * the dependencies declared by every artifact. Immutable, queries keep using the snapshot they started with.
+     */
+    private static final class Snapshot {
+        private final DependencyIndex index;
+        private final DependencyGraph graph;
+        private final String fingerprint;
+        // edges declared by GAV n are dependencyEdges[dependenciesStart[n]] .. dependencyEdges[dependenciesStart[n + 1] - 1]
+        private final int[] dependenciesStart;
+        private final int[] dependencyEdges;
+
+        private Snapshot(DependencyIndex index, String fingerprint) {
+            this.index = index;
+            this.graph = DependencyGraph.of(index);
+            this.fingerprint = fingerprint;
+
+            int gavCount = index.pool().gavCount();
+            dependenciesStart = new int[gavCount + 1];
+            for (int edge = 0; edge < index.edgeCount(); edge++) {
+                dependenciesStart[index.dependentGav(edge) + 1]++;
+            }
+            for (int gav = 0; gav < gavCount; gav++) {
+                dependenciesStart[gav + 1] += dependenciesStart[gav];
+            }
+            dependencyEdges = new int[index.edgeCount()];
+            int[] next = Arrays.copyOf(dependenciesStart, gavCount);
+            for (int edge = 0; edge < index.edgeCount(); edge++) {
+                dependencyEdges[next[index.dependentGav(edge)]++] = edge;
+            }
+        }
+
+        private void appendDependencies(int gav, List<String> dependencies) {
+            if (gav == CoordinatePool.MISSING) {
+                return;
+            }
+            CoordinatePool pool = index.pool();
+            for (int i = dependenciesStart[gav]; i < dependenciesStart[gav + 1]; i++) {
+                int edge = dependencyEdges[i];
+                dependencies.add("{\"dependent\":" + Json.quote(pool.gavString(gav))
+                        + ",\"dependency\":" + Json.quote(pool.gavString(index.dependencyGav(edge)))
+                        + ",\"transitive\":" + index.isTransitive(edge) + "}");
+            }
+        }
+
+        private String status() {
+            Set<Coordinates> coordinates = index.coordinates();
+            return "{\"artifacts\":" + coordinates.size() + ",\"versions\":" + index.artifactCount()
+                    + ",\"edges\":" + index.edgeCount() + ",\"fingerprint\":" + Json.quote(fingerprint) + "}";
+        }
+    }
+}
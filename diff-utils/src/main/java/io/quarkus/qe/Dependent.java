@@ -0,0 +1,48 @@
+package io.quarkus.qe;
+
+import java.util.Objects;
+
+/**
+ * Artifact declaring a dependency, together with the dependency GAV exactly as it is declared in its POM.
+ */
+public final class Dependent {
+    private final VersionedCoordinates coordinates;
+    private final String dependency;
+
+    public Dependent(VersionedCoordinates coordinates, String dependency) {
+        this.coordinates = Objects.requireNonNull(coordinates, "Dependent coordinates must be set");
+        this.dependency = Objects.requireNonNull(dependency, "Dependency must be set");
+    }
+
+    public VersionedCoordinates coordinates() {
+        return coordinates;
+    }
+
+    public String dependency() {
+        return dependency;
+    }
+
+    @Override
+    public String toString() {
+        return coordinates + " <- " + dependency;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (!(o instanceof Dependent)) {
+            return false;
+        }
+
+        Dependent that = (Dependent) o;
+        return Objects.equals(coordinates, that.coordinates) && Objects.equals(dependency, that.dependency);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(coordinates, dependency);
+    }
+}
@@ -0,0 +1,82 @@
+package io.quarkus.qe;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Machine-readable variant of the added artifacts dependents report, one record per artifact in JSON Lines
+ * and in CSV. Records are flushed as soon as they are written, so consumers can follow the files while
+ * the report is still running and nothing is kept in memory.
+ */
+final class DependentsRecordWriter implements Closeable {
+    static final String JSON_LINES_FILE = "added_artifacts_deps.jsonl";
+    static final String CSV_FILE = "added_artifacts_deps.csv";
+    private static final String CSV_HEADER = "artifact,classification,versions,dependents,transitive_dependents";
+
+    private final BufferedWriter jsonLines;
+    private final BufferedWriter csv;
+
+    DependentsRecordWriter(Path directory) throws IOException {
+        jsonLines = Files.newBufferedWriter(directory.resolve(JSON_LINES_FILE), StandardCharsets.UTF_8);
+        try {
+            csv = Files.newBufferedWriter(directory.resolve(CSV_FILE), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            jsonLines.close();
+            throw e;
+        }
+        csv.write(CSV_HEADER);
+        csv.newLine();
+    }
+
+    /**
+     * @param transitiveDependents artifacts depending on the artifact directly or through other artifacts
+     */
+    void write(Coordinates artifact, String classification, Collection<String> versions, Collection<Dependent> dependents,
+            Collection<Coordinates> transitiveDependents) throws IOException {
+        List<String> dependentObjects = new ArrayList<>(dependents.size());
+        for (Dependent dependent : dependents) {
+            dependentObjects.add("{\"dependent\":" + Json.quote(dependent.coordinates().toString())
+                    + ",\"dependency\":" + Json.quote(dependent.dependency()) + "}");
+        }
+        jsonLines.write("{\"artifact\":" + Json.quote(artifact.toString())
+                + ",\"classification\":" + Json.quote(classification)
+                + ",\"versions\":" + Json.array(versions)
+                + ",\"dependents\":[" + String.join(",", dependentObjects) + "]"
+                + ",\"transitiveDependents\":" + Json.array(transitiveDependents) + "}");
+        jsonLines.newLine();
+        jsonLines.flush();
+
+        csv.write(String.join(",",
+                csvField(artifact.toString()),
+                csvField(classification),
+                csvField(String.join(" ", versions)),
+                csvField(dependents.stream().map(Dependent::toString).collect(Collectors.joining(";"))),
+                csvField(transitiveDependents.stream().map(Coordinates::toString).collect(Collectors.joining(";")))));
+        csv.newLine();
+        csv.flush();
+    }
+
+    private static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            jsonLines.close();
+        } finally {
+            csv.close();
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package io.quarkus.qe;
+
+import org.jboss.logging.Logger;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Lightweight effective model builder for POMs of one repository. It walks the parent chain inside the repository,
+ * interpolates {@code ${...}} properties and applies dependencyManagement, including imported BOMs,
+ * so dependencies get concrete coordinates and versions.
+ * <p>
+ * The inherited part of every parent and BOM is resolved once and shared by all POMs referencing it.
+ * Parents and BOMs missing from the repository are skipped, properties which can't be resolved are kept as they are.
+ */
+public final class EffectivePomResolver {
+    private static final Logger LOG = Logger.getLogger(EffectivePomResolver.class);
+    private static final int MAX_INTERPOLATION_DEPTH = 10;
+    private static final String DEFAULT_TYPE = "jar";
+
+    private final Map<VersionedCoordinates, PomSummary> poms = new HashMap<>();
+    private final Map<VersionedCoordinates, Model> models = new ConcurrentHashMap<>();
+
+    public EffectivePomResolver(Collection<PomSummary> poms) {
+        for (PomSummary pom : poms) {
+            this.poms.putIfAbsent(pom.versionedCoordinates(), pom);
+        }
+    }
+
+    /**
+     * @return summary with interpolated coordinates and dependencies with their managed versions,
+     * dependencies inherited from the parent are not added
+     */
+    public PomSummary resolve(PomSummary pom) {
+        Model model = newModel(pom, new HashSet<>());
+        VersionedCoordinates coordinates = pom.versionedCoordinates();
+        return new PomSummary(
+                model.interpolate(coordinates.groupId()),
+                model.interpolate(pom.artifactId()),
+                model.interpolate(coordinates.version()),
+                pom.packaging(),
+                pom.parent(),
+                pom.properties(),
+                resolveDependencies(model, pom.dependencyManagement()),
+                resolveDependencies(model, pom.dependencies()));
+    }
+
+    private List<PomSummary.Dependency> resolveDependencies(Model model, List<PomSummary.Dependency> dependencies) {
+        return dependencies.stream()
+                .map(model::resolve)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return memoized model of a parent or an imported BOM
+     */
+    private Model model(PomSummary pom, Set<VersionedCoordinates> resolving) {
+        VersionedCoordinates coordinates = pom.versionedCoordinates();
+        Model model = models.get(coordinates);
+        if (model != null) {
+            return model;
+        }
+        if (!resolving.add(coordinates)) {
+            LOG.warnf("Cyclic parent or BOM import of %s", coordinates);
+            return null;
+        }
+        model = newModel(pom, resolving);
+        resolving.remove(coordinates);
+
+        Model existing = models.putIfAbsent(coordinates, model);
+        return existing == null ? model : existing;
+    }
+
+    private Model newModel(PomSummary pom, Set<VersionedCoordinates> resolving) {
+        VersionedCoordinates coordinates = pom.versionedCoordinates();
+        Model parent = null;
+        if (pom.parent() != null) {
+            PomSummary parentPom = poms.get(pom.parent());
+            if (parentPom == null) {
+                LOG.debugf("Parent %s of %s is not in the repository", pom.parent(), coordinates);
+            } else {
+                parent = model(parentPom, resolving);
+            }
+        }
+
+        Map<String, String> properties = new HashMap<>(pom.properties());
+        putProjectProperties(properties, pom, coordinates);
+        Model model = new Model(parent, properties);
+
+        for (PomSummary.Dependency managed : pom.dependencyManagement()) {
+            PomSummary.Dependency interpolated = model.interpolate(managed);
+            if ("import".equals(interpolated.scope())) {
+                PomSummary bom = interpolated.version() == null ? null : poms.get(new VersionedCoordinates(
+                        String.valueOf(interpolated.groupId()), String.valueOf(interpolated.artifactId()),
+                        interpolated.version()));
+                Model bomModel = bom == null ? null : model(bom, resolving);
+                if (bomModel == null) {
+                    LOG.debugf("Imported BOM %s of %s is not in the repository", interpolated, coordinates);
+                } else {
+                    model.imports.add(bomModel);
+                }
+            } else if (managed.version() != null) {
+                // kept raw to be interpolated with the properties of the inheriting POM as Maven does
+                model.managedVersions.putIfAbsent(managementKey(interpolated), managed.version());
+            }
+        }
+        return model;
+    }
+
+    private static void putProjectProperties(Map<String, String> properties, PomSummary pom, VersionedCoordinates coordinates) {
+        for (String prefix : new String[] { "project.", "pom." }) {
+            properties.put(prefix + "groupId", coordinates.groupId());
+            properties.put(prefix + "artifactId", coordinates.artifactId());
+            properties.put(prefix + "version", coordinates.version());
+            properties.put(prefix + "packaging", pom.packaging());
+            if (pom.parent() != null) {
+                properties.put(prefix + "parent.groupId", pom.parent().groupId());
+                properties.put(prefix + "parent.artifactId", pom.parent().artifactId());
+                properties.put(prefix + "parent.version", pom.parent().version());
+            }
+        }
+    }
+
+    private static String managementKey(PomSummary.Dependency dependency) {
+        String type = dependency.type() == null ? DEFAULT_TYPE : dependency.type();
+        return dependency.groupId() + ":" + dependency.artifactId() + ":" + type
+                + (dependency.classifier() == null ? "" : ":" + dependency.classifier());
+    }
+
+    /**
+     * Properties and managed versions declared by a POM, the inherited ones are looked up through the parent model
+     * instead of being copied, so a parent shared by hundreds of POMs is kept in memory once.
+     */
+    private static final class Model {
+        private final Model parent;
+        private final Map<String, String> properties;
+        private final Map<String, String> managedVersions = new HashMap<>();
+        private final List<Model> imports = new ArrayList<>();
+
+        private Model(Model parent, Map<String, String> properties) {
+            this.parent = parent;
+            this.properties = properties;
+        }
+
+        private String property(String name) {
+            for (Model model = this; model != null; model = model.parent) {
+                String value = model.properties.get(name);
+                if (value != null) {
+                    return value;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Same order as Maven: entries declared by this POM, then the ones declared by its parents,
+         * then BOMs imported by this POM and finally BOMs imported by its parents. Imported BOMs only add missing entries.
+         *
+         * @return managed version, raw if declared in this POM or its parents, interpolated if imported from a BOM
+         */
+        private String managedVersion(String key) {
+            for (Model model = this; model != null; model = model.parent) {
+                String version = model.managedVersions.get(key);
+                if (version != null) {
+                    return version;
+                }
+            }
+            for (Model model = this; model != null; model = model.parent) {
+                for (Model bom : model.imports) {
+                    String version = bom.managedVersion(key);
+                    if (version != null) {
+                        return bom.interpolate(version);
+                    }
+                }
+            }
+            return null;
+        }
+
+        private PomSummary.Dependency resolve(PomSummary.Dependency dependency) {
+            PomSummary.Dependency interpolated = interpolate(dependency);
+            if (interpolated.version() != null) {
+                return interpolated;
+            }
+            return new PomSummary.Dependency(interpolated.groupId(), interpolated.artifactId(),
+                    interpolate(managedVersion(managementKey(interpolated))), interpolated.type(),
+                    interpolated.classifier(), interpolated.scope(), interpolated.optional());
+        }
+
+        private PomSummary.Dependency interpolate(PomSummary.Dependency dependency) {
+            return new PomSummary.Dependency(interpolate(dependency.groupId()), interpolate(dependency.artifactId()),
+                    interpolate(dependency.version()), interpolate(dependency.type()), interpolate(dependency.classifier()),
+                    interpolate(dependency.scope()), dependency.optional());
+        }
+
+        private String interpolate(String value) {
+            return interpolate(value, 0);
+        }
+
+        private String interpolate(String value, int depth) {
+            if (value == null || depth > MAX_INTERPOLATION_DEPTH) {
+                return value;
+            }
+            int start = value.indexOf("${");
+            if (start < 0) {
+                return value;
+            }
+
+            StringBuilder result = new StringBuilder(value.length());
+            int position = 0;
+            while (start >= 0) {
+                int end = value.indexOf('}', start);
+                if (end < 0) {
+                    break;
+                }
+                String replacement = property(value.substring(start + 2, end));
+                result.append(value, position, start);
+                result.append(replacement == null ? value.substring(start, end + 1) : interpolate(replacement, depth + 1));
+                position = end + 1;
+                start = value.indexOf("${", position);
+            }
+            result.append(value, position, value.length());
+            return result.toString();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package io.quarkus.qe;
+
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Artifact list like {@code extras/repository-artifact-list.txt} of an RHBQ build, one {@code groupId:artifactId:version}
+ * per line. Lines are grouped by their coordinates and the groups are sorted, so two lists can be merge-joined.
+ */
+public final class GavList {
+    private static final Logger LOG = Logger.getLogger(GavList.class);
+
+    public static final Comparator<Coordinates> COORDINATES_ORDER = Comparator.comparing(Coordinates::groupId)
+            .thenComparing(Coordinates::artifactId);
+
+    private final List<Group> groups;
+
+    private GavList(List<Group> groups) {
+        this.groups = Collections.unmodifiableList(groups);
+    }
+
+    public static GavList read(Path file) throws IOException {
+        try (Stream<String> lines = Files.lines(file, StandardCharsets.UTF_8)) {
+            return of(lines);
+        }
+    }
+
+    /**
+     * @param lines {@code groupId:artifactId:version[:...]} lines, blank and malformed lines are ignored
+     */
+    public static GavList of(Stream<String> lines) {
+        List<Line> parsed = new ArrayList<>();
+        lines.forEach(line -> {
+            String trimmed = line.trim();
+            String[] parts = trimmed.split(":");
+            if (parts.length >= 3) {
+                parsed.add(new Line(new VersionedCoordinates(parts[0], parts[1], parts[2]), trimmed));
+            } else if (!trimmed.isEmpty()) {
+                LOG.warnf("Skipping malformed artifact list line '%s'", line);
+            }
+        });
+        // stable sort keeps the list order of versions inside a group
+        parsed.sort(Comparator.comparing(line -> line.coordinates.withoutVersion(), COORDINATES_ORDER));
+
+        List<Group> groups = new ArrayList<>();
+        Group current = null;
+        for (Line line : parsed) {
+            Coordinates coordinates = line.coordinates.withoutVersion();
+            if (current == null || !current.coordinates.equals(coordinates)) {
+                current = new Group(coordinates);
+                groups.add(current);
+            }
+            current.versions.add(line.coordinates.version());
+            current.lines.add(line.text);
+        }
+        return new GavList(groups);
+    }
+
+    /**
+     * @return groups of lines with the same coordinates, sorted by {@link #COORDINATES_ORDER}
+     */
+    public List<Group> groups() {
+        return groups;
+    }
+
+    private static final class Line {
+        private final VersionedCoordinates coordinates;
+        private final String text;
+
+        private Line(VersionedCoordinates coordinates, String text) {
+            this.coordinates = coordinates;
+            this.text = text;
+        }
+    }
+
+    /**
+     * All lines of the list with the same {@code groupId:artifactId}.
+     */
+    public static final class Group {
+        private final Coordinates coordinates;
+        private final List<String> versions = new ArrayList<>();
+        private final List<String> lines = new ArrayList<>();
+
+        private Group(Coordinates coordinates) {
+            this.coordinates = coordinates;
+        }
+
+        public Coordinates coordinates() {
+            return coordinates;
+        }
+
+        /**
+         * @return versions in the list order, one per line
+         */
+        public List<String> versions() {
+            return Collections.unmodifiableList(versions);
+        }
+
+        /**
+         * @return original lines of the list
+         */
+        public List<String> lines() {
+            return Collections.unmodifiableList(lines);
+        }
+    }
+}
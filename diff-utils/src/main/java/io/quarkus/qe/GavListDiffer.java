@@ -0,0 +1,194 @@
+package io.quarkus.qe;
+
+import org.apache.maven.artifact.versioning.ComparableVersion;
+import org.jboss.logging.Logger;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Classifies artifacts of two RHBQ artifact lists as IDENTICAL, UPGRADED, DOWNGRADED, REMOVED, ADDED or MULTIPLE
+ * and writes the same per-category files as {@code diff-gav-artifact.sh} used to. Both lists are grouped
+ * by {@code groupId:artifactId} and sorted, the classification is one merge-join pass over the groups.
+ */
+public class GavListDiffer {
+    private static final Logger LOG = Logger.getLogger(GavListDiffer.class);
+
+    public static final String ADDED_ARTIFACTS_LIST = "added_artifacts_list.txt";
+
+    public enum Category {
+        IDENTICAL,
+        UPGRADED,
+        DOWNGRADED,
+        REMOVED,
+        ADDED,
+        MULTIPLE
+    }
+
+    private final Path oldListPath;
+    private final Path newListPath;
+    private final String oldVersion;
+    private final String newVersion;
+
+    public GavListDiffer() {
+        oldListPath = Paths.get(Objects.requireNonNull(System.getProperty("quarkus.artifact-list.old"),
+                "System property 'quarkus.artifact-list.old' expected"));
+        newListPath = Paths.get(Objects.requireNonNull(System.getProperty("quarkus.artifact-list.new"),
+                "System property 'quarkus.artifact-list.new' expected"));
+        oldVersion = Objects.requireNonNull(System.getProperty("quarkus.version.old"),
+                "System property 'quarkus.version.old' expected");
+        newVersion = Objects.requireNonNull(System.getProperty("quarkus.version.new"),
+                "System property 'quarkus.version.new' expected");
+    }
+
+    GavListDiffer(Path oldListPath, String oldVersion, Path newListPath, String newVersion) {
+        this.oldListPath = oldListPath;
+        this.oldVersion = oldVersion;
+        this.newListPath = newListPath;
+        this.newVersion = newVersion;
+    }
+
+    /**
+     * Classify version change of an artifact present once in both lists.
+     */
+    public static Category classify(String oldVersion, String newVersion) {
+        if (oldVersion.equals(newVersion)) {
+            return Category.IDENTICAL;
+        }
+        return new ComparableVersion(oldVersion).compareTo(new ComparableVersion(newVersion)) <= 0
+                ? Category.UPGRADED
+                : Category.DOWNGRADED;
+    }
+
+    public void writeToFiles() throws IOException {
+        writeToFiles(Paths.get(System.getProperty("user.dir")));
+    }
+
+    void writeToFiles(Path outputDir) throws IOException {
+        GavList oldList = GavList.read(oldListPath);
+        GavList newList = GavList.read(newListPath);
+
+        // the next steps of diff-gav-artifact.sh read these files, so they exist even when empty
+        List<String> fileNames = new ArrayList<>();
+        for (Category category : Category.values()) {
+            fileNames.add(categoryFile(category));
+        }
+        fileNames.add(ADDED_ARTIFACTS_LIST);
+        fileNames.add(multipleDetailsFile(oldVersion));
+        fileNames.add(multipleDetailsFile(newVersion));
+        try (OutputFiles files = new OutputFiles(outputDir, fileNames)) {
+            List<GavList.Group> oldGroups = oldList.groups();
+            List<GavList.Group> newGroups = newList.groups();
+            int oldIndex = 0;
+            int newIndex = 0;
+            while (oldIndex < oldGroups.size() || newIndex < newGroups.size()) {
+                GavList.Group oldGroup = oldIndex < oldGroups.size() ? oldGroups.get(oldIndex) : null;
+                GavList.Group newGroup = newIndex < newGroups.size() ? newGroups.get(newIndex) : null;
+                int order = oldGroup == null ? 1
+                        : newGroup == null ? -1
+                        : GavList.COORDINATES_ORDER.compare(oldGroup.coordinates(), newGroup.coordinates());
+                if (order < 0) {
+                    writeRemoved(files, oldGroup);
+                    oldIndex++;
+                } else if (order > 0) {
+                    writeAdded(files, newGroup);
+                    newIndex++;
+                } else {
+                    writeCommon(files, oldGroup, newGroup);
+                    oldIndex++;
+                    newIndex++;
+                }
+            }
+            LOG.infof("Compared %d artifacts of %s with %d artifacts of %s", oldGroups.size(), oldVersion,
+                    newGroups.size(), newVersion);
+        }
+    }
+
+    private void writeRemoved(OutputFiles files, GavList.Group oldGroup) {
+        for (String version : oldGroup.versions()) {
+            files.println(categoryFile(Category.REMOVED),
+                    String.format("%s - %s  ::  %s", oldGroup.coordinates(), version, Category.REMOVED));
+        }
+    }
+
+    private void writeAdded(OutputFiles files, GavList.Group newGroup) {
+        for (String version : newGroup.versions()) {
+            files.println(categoryFile(Category.ADDED),
+                    String.format("%s - %s  ::  %s", newGroup.coordinates(), version, Category.ADDED));
+        }
+        files.println(ADDED_ARTIFACTS_LIST, newGroup.coordinates().toString());
+    }
+
+    private void writeCommon(OutputFiles files, GavList.Group oldGroup, GavList.Group newGroup) {
+        if (newGroup.versions().size() > 1) {
+            files.println(categoryFile(Category.MULTIPLE), newGroup.coordinates().toString());
+            oldGroup.lines().forEach(line -> files.println(multipleDetailsFile(oldVersion), line));
+            newGroup.lines().forEach(line -> files.println(multipleDetailsFile(newVersion), line));
+            return;
+        }
+
+        String newArtifactVersion = newGroup.versions().get(0);
+        for (String oldArtifactVersion : oldGroup.versions()) {
+            Category category = classify(oldArtifactVersion, newArtifactVersion);
+            files.println(categoryFile(category), String.format("%s - %s  => %s  ::  %s",
+                    oldGroup.coordinates(), oldArtifactVersion, newArtifactVersion, category));
+        }
+    }
+
+    private String categoryFile(Category category) {
+        return String.format("artifacts_%s_%s.txt", newVersion, category);
+    }
+
+    private static String multipleDetailsFile(String version) {
+        return String.format("artifacts_%s_MULTIPLE_DETAILS.txt", version);
+    }
+
+    /**
+     * Output files created up front, so empty categories produce empty files.
+     */
+    private static final class OutputFiles implements Closeable {
+        private final Map<String, BufferedWriter> writers = new LinkedHashMap<>();
+
+        private OutputFiles(Path directory, List<String> fileNames) throws IOException {
+            try {
+                for (String fileName : fileNames) {
+                    if (!writers.containsKey(fileName)) {
+                        writers.put(fileName,
+                                Files.newBufferedWriter(directory.resolve(fileName), StandardCharsets.UTF_8));
+                    }
+                }
+            } catch (IOException e) {
+                close();
+                throw e;
+            }
+        }
+
+        private void println(String fileName, String line) {
+            try {
+                BufferedWriter writer = writers.get(fileName);
+                writer.write(line);
+                writer.newLine();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write " + fileName, e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            for (BufferedWriter writer : writers.values()) {
+                writer.close();
+            }
+        }
+    }
+}
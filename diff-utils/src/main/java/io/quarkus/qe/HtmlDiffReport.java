@@ -0,0 +1,378 @@
+package io.quarkus.qe;
+
+import org.jboss.logging.Logger;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Self-contained HTML diff of two text files, the replacement of the jsdifflib page {@code create_colorful_diff.sh}
+ * used to create. The diff is computed by {@link LineDiff} and the page is written row by row, it has no
+ * external resources and only a few lines of script, so it opens offline and instantly even for large lists.
+ * <p>
+ * Side by side and inline views are both in the page and switched by CSS, unchanged lines further than
+ * the context size from a change are collapsed. Added artifacts found in the dependents report of
+ * {@link AddedArtifactsPrint} can be expanded to show their dependents.
+ */
+public class HtmlDiffReport {
+    private static final Logger LOG = Logger.getLogger(HtmlDiffReport.class);
+    private static final int DEFAULT_CONTEXT_SIZE = 3;
+    private static final String DEPENDENTS_HEADER = "Dependants for ";
+    private static final String DEPENDENTS_PREFIX = "dependents: ";
+
+    public enum View {
+        SIDE_BY_SIDE,
+        INLINE
+    }
+
+    private final Path outputPath;
+    private final Path oldPath;
+    private final Path newPath;
+    private final Path dependentsPath;
+    private final String title;
+    private final String oldTitle;
+    private final String newTitle;
+    private final View defaultView;
+    private final int contextSize;
+
+    public HtmlDiffReport() {
+        outputPath = Paths.get(Objects.requireNonNull(System.getProperty("quarkus.html-diff.output"),
+                "System property 'quarkus.html-diff.output' expected"));
+        String oldFile = Objects.requireNonNull(System.getProperty("quarkus.html-diff.old"),
+                "System property 'quarkus.html-diff.old' expected");
+        String newFile = Objects.requireNonNull(System.getProperty("quarkus.html-diff.new"),
+                "System property 'quarkus.html-diff.new' expected");
+        oldPath = Paths.get(oldFile);
+        newPath = Paths.get(newFile);
+        String dependentsFile = System.getProperty("quarkus.html-diff.dependents");
+        dependentsPath = dependentsFile == null || dependentsFile.isBlank() ? null : Paths.get(dependentsFile);
+        title = System.getProperty("quarkus.html-diff.title", oldFile + " vs " + newFile);
+        oldTitle = System.getProperty("quarkus.html-diff.old-title", oldFile);
+        newTitle = System.getProperty("quarkus.html-diff.new-title", newFile);
+        defaultView = "1".equals(System.getProperty("quarkus.html-diff.view")) ? View.INLINE : View.SIDE_BY_SIDE;
+        String context = System.getProperty("quarkus.html-diff.context");
+        contextSize = context == null || context.isBlank() ? DEFAULT_CONTEXT_SIZE : Integer.parseInt(context.trim());
+    }
+
+    public void writeToFile() throws IOException {
+        List<String> oldLines = Files.readAllLines(oldPath, StandardCharsets.UTF_8);
+        List<String> newLines = Files.readAllLines(newPath, StandardCharsets.UTF_8);
+        Map<String, Dependents> dependents = dependentsPath == null
+                ? Collections.emptyMap()
+                : readDependents(Files.readAllLines(dependentsPath, StandardCharsets.UTF_8));
+
+        List<LineDiff.Hunk> hunks = LineDiff.compute(oldLines, newLines);
+        try (BufferedWriter out = Files.newBufferedWriter(outputPath, StandardCharsets.UTF_8)) {
+            new Page(out, oldLines, newLines, hunks, dependents).write();
+        }
+        LOG.infof("Diff of %s and %s with %d hunks written to %s", oldPath, newPath, hunks.size(), outputPath);
+    }
+
+    /**
+     * Parse the {@code Dependants for <GA> - [<versions>] :: <classification>} blocks of the {@link AddedArtifactsPrint} report.
+     */
+    static Map<String, Dependents> readDependents(List<String> lines) {
+        Map<String, Dependents> dependents = new HashMap<>();
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            if (!line.startsWith(DEPENDENTS_HEADER)) {
+                continue;
+            }
+            int versionsStart = line.indexOf(" - ");
+            if (versionsStart < 0) {
+                continue;
+            }
+            String coordinates = line.substring(DEPENDENTS_HEADER.length(), versionsStart);
+            String versions = line.substring(versionsStart + 3, Math.max(versionsStart + 3, line.lastIndexOf(" :: ")));
+
+            StringBuilder block = new StringBuilder();
+            while (i + 1 < lines.size() && !lines.get(i + 1).isEmpty()) {
+                block.append(lines.get(++i)).append('\n');
+            }
+            String text = block.toString().trim();
+            if (text.startsWith("(") && text.endsWith(")")) {
+                text = text.substring(1, text.length() - 1);
+            }
+            List<String> items = new ArrayList<>();
+            if (text.startsWith(DEPENDENTS_PREFIX)) {
+                for (String item : text.substring(DEPENDENTS_PREFIX.length()).split(",\\s*\n")) {
+                    items.add(item.trim());
+                }
+            }
+            dependents.putIfAbsent(coordinates, new Dependents(versions, items));
+        }
+        return dependents;
+    }
+
+    static final class Dependents {
+        private final String versions;
+        private final List<String> dependents;
+
+        private Dependents(String versions, List<String> dependents) {
+            this.versions = versions;
+            this.dependents = dependents;
+        }
+    }
+
+    private final class Page {
+        private final Writer out;
+        private final List<String> oldLines;
+        private final List<String> newLines;
+        private final List<LineDiff.Hunk> hunks;
+        private final Map<String, Dependents> dependents;
+
+        private Page(Writer out, List<String> oldLines, List<String> newLines, List<LineDiff.Hunk> hunks,
+                Map<String, Dependents> dependents) {
+            this.out = out;
+            this.oldLines = oldLines;
+            this.newLines = newLines;
+            this.hunks = hunks;
+            this.dependents = dependents;
+        }
+
+        private void write() throws IOException {
+            int deletedLines = 0;
+            int insertedLines = 0;
+            int changes = 0;
+            for (LineDiff.Hunk hunk : hunks) {
+                if (hunk.type() != LineDiff.Type.EQUAL) {
+                    deletedLines += hunk.oldLength();
+                    insertedLines += hunk.newLength();
+                    changes++;
+                }
+            }
+
+            out.write("<!DOCTYPE html>\n<html><head><meta charset=\"utf-8\">\n<title>");
+            out.write(escape(title));
+            out.write("</title>\n<style>\n"
+                    + "body { font-size: 12px; font-family: sans-serif; }\n"
+                    + "h1, .summary, .viewType { text-align: center; }\n"
+                    + ".viewType { font-size: 16px; padding: 1em; }\n"
+                    + "input[name=view] { display: none; }\n"
+                    + "label { margin: 0 1em; color: #447; }\n"
+                    + "label:hover { text-decoration: underline; cursor: pointer; }\n"
+                    + "#sidebyside:checked ~ .viewType label[for=sidebyside], #inline:checked ~ .viewType label[for=inline]"
+                    + " { font-weight: bold; color: black; }\n"
+                    + "#sidebyside:checked ~ table.inline, #inline:checked ~ table.sidebyside { display: none; }\n"
+                    + "table.diff { margin: 0 auto; border-collapse: collapse; border: 1px solid darkgray; }\n"
+                    + "table.diff thead th { background: #eee; font-weight: bold; padding: 0.3em 0.5em; }\n"
+                    + "table.diff tbody th { background: #eee; color: #886; text-align: right; vertical-align: top;"
+                    + " padding: 0 0.4em; font-weight: normal; }\n"
+                    + "table.diff td { font-family: monospace; white-space: pre-wrap; padding: 0 0.4em; min-width: 30em; }\n"
+                    + "td.delete { background: #e99; }\n"
+                    + "td.insert { background: #9e9; }\n"
+                    + "td.replace { background: #fd8; }\n"
+                    + "td.empty { background: #ddd; }\n"
+                    + "tbody.skip td { background: #def; text-align: center; font-family: sans-serif; }\n"
+                    + "details summary { cursor: pointer; }\n"
+                    + "details ul { margin: 0.2em 0 0.5em; }\n"
+                    + "</style>\n<script>\n"
+                    + "function expand(button) {\n"
+                    + "  var skip = button.closest('tbody');\n"
+                    + "  skip.nextElementSibling.hidden = false;\n"
+                    + "  skip.remove();\n"
+                    + "}\n"
+                    + "</script>\n</head>\n<body>\n<h1>");
+            out.write(escape(title));
+            out.write("</h1>\n<p class=\"summary\">");
+            out.write(String.format("%d changes: %d lines removed from %s, %d lines added to %s", changes, deletedLines,
+                    escape(oldTitle), insertedLines, escape(newTitle)));
+            out.write("</p>\n");
+            // the radios are siblings of the tables to switch the views by CSS, their labels are the visible switch
+            out.write(radio("sidebyside", defaultView == View.SIDE_BY_SIDE));
+            out.write(radio("inline", defaultView == View.INLINE));
+            out.write("<div class=\"viewType\"><label for=\"sidebyside\">Side by Side Diff</label>"
+                    + "<label for=\"inline\">Inline Diff</label></div>\n");
+
+            out.write("<table class=\"diff sidebyside\">\n<thead><tr><th></th><th>");
+            out.write(escape(oldTitle));
+            out.write("</th><th></th><th>");
+            out.write(escape(newTitle));
+            out.write("</th></tr></thead>\n<tbody>\n");
+            writeHunks(View.SIDE_BY_SIDE);
+            out.write("</tbody>\n</table>\n");
+
+            out.write("<table class=\"diff inline\">\n<thead><tr><th>");
+            out.write(escape(oldTitle));
+            out.write("</th><th>");
+            out.write(escape(newTitle));
+            out.write("</th><th></th></tr></thead>\n<tbody>\n");
+            writeHunks(View.INLINE);
+            out.write("</tbody>\n</table>\n</body></html>\n");
+        }
+
+        private String radio(String id, boolean checked) {
+            return String.format("<input name=\"view\" id=\"%s\" type=\"radio\"%s>\n", id, checked ? " checked" : "");
+        }
+
+        private void writeHunks(View view) throws IOException {
+            for (int h = 0; h < hunks.size(); h++) {
+                LineDiff.Hunk hunk = hunks.get(h);
+                if (hunk.type() == LineDiff.Type.EQUAL) {
+                    writeEqual(view, hunk, h == 0, h == hunks.size() - 1);
+                } else if (view == View.SIDE_BY_SIDE) {
+                    writeSideBySideChange(hunk);
+                } else {
+                    writeInlineChange(hunk);
+                }
+            }
+        }
+
+        /**
+         * Only the context lines next to the changes are visible, the other ones are collapsed.
+         */
+        private void writeEqual(View view, LineDiff.Hunk hunk, boolean first, boolean last) throws IOException {
+            int length = hunk.oldLength();
+            int head = contextSize < 0 || last && first ? length : first ? 0 : Math.min(contextSize, length);
+            int tail = contextSize < 0 || last ? 0 : Math.min(contextSize, length - head);
+            if (contextSize < 0 || head + tail >= length) {
+                writeEqualLines(view, hunk, 0, length);
+                return;
+            }
+            writeEqualLines(view, hunk, 0, head);
+            out.write(String.format("</tbody>\n<tbody class=\"skip\"><tr><td colspan=\"%d\">"
+                    + "<button type=\"button\" onclick=\"expand(this)\">Show %d unchanged lines</button></td></tr></tbody>\n"
+                    + "<tbody hidden>\n", view == View.SIDE_BY_SIDE ? 4 : 3, length - head - tail));
+            writeEqualLines(view, hunk, head, length - tail);
+            out.write("</tbody>\n<tbody>\n");
+            writeEqualLines(view, hunk, length - tail, length);
+        }
+
+        private void writeEqualLines(View view, LineDiff.Hunk hunk, int from, int to) throws IOException {
+            for (int i = from; i < to; i++) {
+                int oldIndex = hunk.oldStart() + i;
+                int newIndex = hunk.newStart() + i;
+                String text = escape(newLines.get(newIndex));
+                if (view == View.SIDE_BY_SIDE) {
+                    out.write(String.format("<tr><th>%d</th><td class=\"equal\">%s</td><th>%d</th><td class=\"equal\">%s</td></tr>\n",
+                            oldIndex + 1, escape(oldLines.get(oldIndex)), newIndex + 1, text));
+                } else {
+                    out.write(String.format("<tr><th>%d</th><th>%d</th><td class=\"equal\">%s</td></tr>\n",
+                            oldIndex + 1, newIndex + 1, text));
+                }
+            }
+        }
+
+        private void writeSideBySideChange(LineDiff.Hunk hunk) throws IOException {
+            String oldClass = hunk.type() == LineDiff.Type.CHANGE ? "replace" : "delete";
+            String newClass = hunk.type() == LineDiff.Type.CHANGE ? "replace" : "insert";
+            for (int i = 0; i < Math.max(hunk.oldLength(), hunk.newLength()); i++) {
+                out.write("<tr>");
+                if (i < hunk.oldLength()) {
+                    int oldIndex = hunk.oldStart() + i;
+                    out.write(String.format("<th>%d</th><td class=\"%s\">%s</td>", oldIndex + 1, oldClass,
+                            escape(oldLines.get(oldIndex))));
+                } else {
+                    out.write("<th></th><td class=\"empty\"></td>");
+                }
+                if (i < hunk.newLength()) {
+                    int newIndex = hunk.newStart() + i;
+                    out.write(String.format("<th>%d</th><td class=\"%s\">", newIndex + 1, newClass));
+                    writeNewLine(newLines.get(newIndex));
+                    out.write("</td>");
+                } else {
+                    out.write("<th></th><td class=\"empty\"></td>");
+                }
+                out.write("</tr>\n");
+            }
+        }
+
+        private void writeInlineChange(LineDiff.Hunk hunk) throws IOException {
+            for (int oldIndex = hunk.oldStart(); oldIndex < hunk.oldEnd(); oldIndex++) {
+                out.write(String.format("<tr><th>%d</th><th></th><td class=\"delete\">%s</td></tr>\n", oldIndex + 1,
+                        escape(oldLines.get(oldIndex))));
+            }
+            for (int newIndex = hunk.newStart(); newIndex < hunk.newEnd(); newIndex++) {
+                out.write(String.format("<tr><th></th><th>%d</th><td class=\"insert\">", newIndex + 1));
+                writeNewLine(newLines.get(newIndex));
+                out.write("</td></tr>\n");
+            }
+        }
+
+        /**
+         * Added or changed line, expandable to its dependents if the line is an artifact of the dependents report.
+         */
+        private void writeNewLine(String line) throws IOException {
+            Dependents lineDependents = findDependents(line.trim());
+            if (lineDependents == null) {
+                out.write(escape(line));
+                return;
+            }
+            out.write("<details><summary>");
+            out.write(escape(line));
+            out.write("</summary>");
+            out.write(escape(lineDependents.versions));
+            out.write("<ul>");
+            if (lineDependents.dependents.isEmpty()) {
+                out.write("<li>NO DEPENDENTS FOUND</li>");
+            }
+            for (String dependent : lineDependents.dependents) {
+                out.write("<li>");
+                out.write(escape(dependent));
+                out.write("</li>");
+            }
+            out.write("</ul></details>");
+        }
+
+        /**
+         * @param line {@code groupId:artifactId} or {@code groupId:artifactId:version}
+         */
+        private Dependents findDependents(String line) {
+            if (dependents.isEmpty()) {
+                return null;
+            }
+            Dependents found = dependents.get(line);
+            int secondColon = line.indexOf(':', line.indexOf(':') + 1);
+            if (found == null && secondColon > 0) {
+                found = dependents.get(line.substring(0, secondColon));
+            }
+            return found;
+        }
+    }
+
+    private static String escape(String text) {
+        StringBuilder escaped = null;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            String replacement;
+            switch (c) {
+                case '&':
+                    replacement = "&amp;";
+                    break;
+                case '<':
+                    replacement = "&lt;";
+                    break;
+                case '>':
+                    replacement = "&gt;";
+                    break;
+                case '"':
+                    replacement = "&quot;";
+                    break;
+                default:
+                    replacement = null;
+            }
+            if (replacement != null && escaped == null) {
+                escaped = new StringBuilder(text.length() + 16).append(text, 0, i);
+            }
+            if (escaped != null) {
+                if (replacement == null) {
+                    escaped.append(c);
+                } else {
+                    escaped.append(replacement);
+                }
+            }
+        }
+        return escaped == null ? text : escaped.toString();
+    }
+}
@@ -0,0 +1,312 @@
+package io.quarkus.qe;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Entries of a jar read from its zip central directory only, i.e. names, sizes and CRCs without decompressing
+ * anything. Jars on the default file system are read with two positioned reads from the end of the file,
+ * jars inside a zip repository can't be seeked and are read into memory first.
+ * <p>
+ * Content of single entries is decompressed on demand by {@link #content(String)}.
+ */
+public final class JarContents {
+    private static final int END_OF_CENTRAL_DIRECTORY = 0x06054b50;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR = 0x07064b50;
+    private static final int CENTRAL_DIRECTORY_ENTRY = 0x02014b50;
+    private static final int LOCAL_FILE_HEADER = 0x04034b50;
+    private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+    private static final int MAX_COMMENT_SIZE = 0xFFFF;
+    private static final int LOCAL_FILE_HEADER_SIZE = 30;
+    private static final int STORED = 0;
+    private static final int DEFLATED = 8;
+
+    /**
+     * Central directory record of one jar entry.
+     */
+    public static final class Entry {
+        private final String name;
+        private final long size;
+        private final long compressedSize;
+        private final long crc;
+        private final int method;
+        private final long localHeaderOffset;
+
+        Entry(String name, long size, long compressedSize, long crc, int method, long localHeaderOffset) {
+            this.name = name;
+            this.size = size;
+            this.compressedSize = compressedSize;
+            this.crc = crc;
+            this.method = method;
+            this.localHeaderOffset = localHeaderOffset;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public long size() {
+            return size;
+        }
+
+        public long crc() {
+            return crc;
+        }
+
+        public boolean isDirectory() {
+            return name.endsWith("/");
+        }
+
+        /**
+         * @return true if the uncompressed content of both entries is the same as far as the central directory tells
+         */
+        public boolean sameContent(Entry other) {
+            return size == other.size && crc == other.crc;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s (%d bytes, crc %08x)", name, size, crc);
+        }
+    }
+
+    private final Path file;
+    private final byte[] bytes;
+    private final Map<String, Entry> entries;
+
+    private JarContents(Path file, byte[] bytes, Map<String, Entry> entries) {
+        this.file = file;
+        this.bytes = bytes;
+        this.entries = Collections.unmodifiableMap(entries);
+    }
+
+    public static JarContents read(Path file) throws IOException {
+        if (file.getFileSystem() != FileSystems.getDefault()) {
+            byte[] bytes = Files.readAllBytes(file);
+            return new JarContents(file, bytes, readCentralDirectory(file, new ByteArraySource(bytes)));
+        }
+        try (SeekableByteChannel channel = Files.newByteChannel(file)) {
+            return new JarContents(file, null, readCentralDirectory(file, new ChannelSource(channel)));
+        }
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    /**
+     * @return entries by name, sorted
+     */
+    public Map<String, Entry> entries() {
+        return entries;
+    }
+
+    /**
+     * @return uncompressed content of the entry, only this entry is read and decompressed
+     */
+    public byte[] content(String name) throws IOException {
+        Entry entry = Objects.requireNonNull(entries.get(name), () -> "No entry " + name + " in " + file);
+        if (bytes != null) {
+            return content(entry, new ByteArraySource(bytes));
+        }
+        try (SeekableByteChannel channel = Files.newByteChannel(file)) {
+            return content(entry, new ChannelSource(channel));
+        }
+    }
+
+    private byte[] content(Entry entry, Source source) throws IOException {
+        ByteBuffer header = source.read(entry.localHeaderOffset, LOCAL_FILE_HEADER_SIZE);
+        if (header.getInt(0) != LOCAL_FILE_HEADER) {
+            throw new IOException("Invalid local header of " + entry.name + " in " + file);
+        }
+        long dataOffset = entry.localHeaderOffset + LOCAL_FILE_HEADER_SIZE + unsignedShort(header, 26)
+                + unsignedShort(header, 28);
+        ByteBuffer data = source.read(dataOffset, Math.toIntExact(entry.compressedSize));
+        byte[] compressed = new byte[data.remaining()];
+        data.get(compressed);
+        if (entry.method == STORED) {
+            return compressed;
+        }
+        if (entry.method != DEFLATED) {
+            throw new IOException("Unsupported compression method " + entry.method + " of " + entry.name + " in " + file);
+        }
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(compressed);
+            byte[] content = new byte[Math.toIntExact(entry.size)];
+            int length = 0;
+            while (length < content.length && !inflater.finished()) {
+                int inflated = inflater.inflate(content, length, content.length - length);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                length += inflated;
+            }
+            if (length != content.length) {
+                throw new IOException("Truncated entry " + entry.name + " in " + file);
+            }
+            return content;
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupted entry " + entry.name + " in " + file, e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static Map<String, Entry> readCentralDirectory(Path file, Source source) throws IOException {
+        long size = source.size();
+        int tailLength = (int) Math.min(size, END_OF_CENTRAL_DIRECTORY_SIZE + MAX_COMMENT_SIZE);
+        ByteBuffer tail = source.read(size - tailLength, tailLength);
+        int end = -1;
+        for (int i = tailLength - END_OF_CENTRAL_DIRECTORY_SIZE; i >= 0; i--) {
+            if (tail.getInt(i) == END_OF_CENTRAL_DIRECTORY) {
+                end = i;
+                break;
+            }
+        }
+        if (end < 0) {
+            throw new IOException("Not a zip file " + file);
+        }
+
+        long entryCount = unsignedShort(tail, end + 10);
+        long directorySize = unsignedInt(tail, end + 12);
+        long directoryOffset = unsignedInt(tail, end + 16);
+        if (entryCount == 0xFFFF || directorySize == 0xFFFFFFFFL || directoryOffset == 0xFFFFFFFFL) {
+            int locator = end - 20;
+            if (locator < 0 || tail.getInt(locator) != ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR) {
+                throw new IOException("Missing zip64 end of central directory in " + file);
+            }
+            ByteBuffer zip64End = source.read(tail.getLong(locator + 8), 56);
+            directorySize = zip64End.getLong(40);
+            directoryOffset = zip64End.getLong(48);
+        }
+
+        ByteBuffer directory = source.read(directoryOffset, Math.toIntExact(directorySize));
+        Map<String, Entry> entries = new TreeMap<>();
+        int position = 0;
+        while (position + 46 <= directory.limit() && directory.getInt(position) == CENTRAL_DIRECTORY_ENTRY) {
+            int method = unsignedShort(directory, position + 10);
+            long crc = unsignedInt(directory, position + 16);
+            long compressedSize = unsignedInt(directory, position + 20);
+            long uncompressedSize = unsignedInt(directory, position + 24);
+            int nameLength = unsignedShort(directory, position + 28);
+            int extraLength = unsignedShort(directory, position + 30);
+            int commentLength = unsignedShort(directory, position + 32);
+            long localHeaderOffset = unsignedInt(directory, position + 42);
+            byte[] name = new byte[nameLength];
+            directory.position(position + 46);
+            directory.get(name);
+            if (uncompressedSize == 0xFFFFFFFFL || compressedSize == 0xFFFFFFFFL || localHeaderOffset == 0xFFFFFFFFL) {
+                long[] zip64 = zip64Extra(directory, position + 46 + nameLength, extraLength,
+                        uncompressedSize, compressedSize, localHeaderOffset);
+                uncompressedSize = zip64[0];
+                compressedSize = zip64[1];
+                localHeaderOffset = zip64[2];
+            }
+            String entryName = new String(name, StandardCharsets.UTF_8);
+            entries.put(entryName, new Entry(entryName, uncompressedSize, compressedSize, crc, method, localHeaderOffset));
+            position += 46 + nameLength + extraLength + commentLength;
+        }
+        return entries;
+    }
+
+    /**
+     * @return sizes and offset with the values from the zip64 extra field where the record has placeholders
+     */
+    private static long[] zip64Extra(ByteBuffer directory, int start, int length, long size, long compressedSize,
+            long localHeaderOffset) {
+        long[] values = { size, compressedSize, localHeaderOffset };
+        int position = start;
+        while (position + 4 <= start + length) {
+            int id = unsignedShort(directory, position);
+            int dataLength = unsignedShort(directory, position + 2);
+            if (id == 0x0001) {
+                int field = position + 4;
+                for (int i = 0; i < values.length && field + 8 <= position + 4 + dataLength; i++) {
+                    if (values[i] == 0xFFFFFFFFL) {
+                        values[i] = directory.getLong(field);
+                        field += 8;
+                    }
+                }
+                break;
+            }
+            position += 4 + dataLength;
+        }
+        return values;
+    }
+
+    private static int unsignedShort(ByteBuffer buffer, int index) {
+        return buffer.getShort(index) & 0xFFFF;
+    }
+
+    private static long unsignedInt(ByteBuffer buffer, int index) {
+        return buffer.getInt(index) & 0xFFFFFFFFL;
+    }
+
+    private interface Source {
+        long size() throws IOException;
+
+        /**
+         * @return little endian buffer with the bytes at the position
+         */
+        ByteBuffer read(long position, int length) throws IOException;
+    }
+
+    private static final class ChannelSource implements Source {
+        private final SeekableByteChannel channel;
+
+        private ChannelSource(SeekableByteChannel channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        public long size() throws IOException {
+            return channel.size();
+        }
+
+        @Override
+        public ByteBuffer read(long position, int length) throws IOException {
+            ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+            channel.position(position);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    throw new IOException("Unexpected end of file");
+                }
+            }
+            return buffer.flip();
+        }
+    }
+
+    private static final class ByteArraySource implements Source {
+        private final byte[] bytes;
+
+        private ByteArraySource(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        public long size() {
+            return bytes.length;
+        }
+
+        @Override
+        public ByteBuffer read(long position, int length) throws IOException {
+            if (position < 0 || position + length > bytes.length) {
+                throw new IOException("Unexpected end of file");
+            }
+            return ByteBuffer.wrap(bytes, (int) position, length).slice().order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package io.quarkus.qe;
+
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * API surface delta of UPGRADED artifacts: classes, packages and services added or removed between the old
+ * and the new jar. Jars are compared by their zip central directories, see {@link JarContents}, only service
+ * files whose CRC differs are decompressed to compare the providers. All artifact pairs are compared in parallel.
+ * <p>
+ * Rebuilds whose entries differ only in build metadata have the same {@link JarFingerprints fingerprint}, they are
+ * listed in {@value #IDENTICAL_CONTENT_FILE} and not diffed.
+ */
+public class JarDiff {
+    private static final Logger LOG = Logger.getLogger(JarDiff.class);
+    public static final String REPORT_FILE = "upgraded_artifacts_jar_diff.txt";
+    public static final String IDENTICAL_CONTENT_FILE = "upgraded_artifacts_identical_content.txt";
+
+    private static final Pattern UPGRADED_LINE = Pattern.compile("^(\\S+):(\\S+) - (\\S+)\\s+=>\\s+(\\S+)\\s+::.*");
+    private static final String CLASS_EXTENSION = ".class";
+    private static final String SERVICES_DIRECTORY = "META-INF/services/";
+    private static final String VERSIONS_DIRECTORY = "META-INF/versions/";
+
+    private final Path oldRepoPath;
+    private final Path newRepoPath;
+    private final Path upgradedListPath;
+
+    public JarDiff() {
+        oldRepoPath = Paths.get(Objects.requireNonNull(System.getProperty("quarkus.jar-diff.old-repo"),
+                "System property 'quarkus.jar-diff.old-repo' expected"));
+        newRepoPath = Paths.get(Objects.requireNonNull(System.getProperty("quarkus.jar-diff.new-repo"),
+                "System property 'quarkus.jar-diff.new-repo' expected"));
+        upgradedListPath = Paths.get(Objects.requireNonNull(System.getProperty("quarkus.jar-diff.upgraded-list"),
+                "System property 'quarkus.jar-diff.upgraded-list' expected"));
+    }
+
+    public void writeToFile() throws IOException {
+        List<Upgrade> upgrades = readUpgrades(upgradedListPath);
+        JarFingerprints fingerprints = JarFingerprints.load();
+        List<Result> results;
+        try (MavenRepo oldRepo = MavenRepo.at(oldRepoPath); MavenRepo newRepo = MavenRepo.at(newRepoPath)) {
+            results = upgrades.parallelStream()
+                    .map(upgrade -> compare(upgrade, oldRepo, newRepo, fingerprints))
+                    .collect(Collectors.toList());
+        }
+        fingerprints.save();
+
+        Path outputDir = Paths.get(System.getProperty("user.dir"));
+        Path reportFile = outputDir.resolve(REPORT_FILE);
+        try (PrintWriter printWriter = new PrintWriter(Files.newBufferedWriter(reportFile, StandardCharsets.UTF_8))) {
+            results.stream().filter(result -> !result.report.isEmpty()).forEach(result -> printWriter.print(result.report));
+        }
+        List<Result> identical = results.stream().filter(result -> result.identical).collect(Collectors.toList());
+        try (PrintWriter printWriter = new PrintWriter(Files.newBufferedWriter(outputDir.resolve(IDENTICAL_CONTENT_FILE),
+                StandardCharsets.UTF_8))) {
+            identical.forEach(result -> printWriter.println(result.upgrade));
+        }
+        LOG.infof("Compared jars of %d upgraded artifacts, %d have identical content, report written to %s",
+                upgrades.size(), identical.size(), reportFile);
+    }
+
+    /**
+     * @param file list of UPGRADED artifacts written by {@link GavListDiffer}
+     */
+    static List<Upgrade> readUpgrades(Path file) throws IOException {
+        try (Stream<String> lines = Files.lines(file, StandardCharsets.UTF_8)) {
+            return lines.map(UPGRADED_LINE::matcher)
+                    .filter(Matcher::matches)
+                    .map(matcher -> new Upgrade(new VersionedCoordinates(matcher.group(1), matcher.group(2), matcher.group(3)),
+                            new VersionedCoordinates(matcher.group(1), matcher.group(2), matcher.group(4))))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static Result compare(Upgrade upgrade, MavenRepo oldRepo, MavenRepo newRepo, JarFingerprints fingerprints) {
+        Path oldJar = oldRepo.artifactFile(upgrade.oldCoordinates, "jar");
+        Path newJar = newRepo.artifactFile(upgrade.newCoordinates, "jar");
+        boolean oldExists = Files.isRegularFile(oldJar);
+        boolean newExists = Files.isRegularFile(newJar);
+        if (!oldExists && !newExists) {
+            // POM only artifacts
+            return new Result(upgrade, false, "");
+        }
+        if (!oldExists || !newExists) {
+            return new Result(upgrade, false,
+                    String.format("%s%n  jar missing in the %s repository%n%n", upgrade, oldExists ? "new" : "old"));
+        }
+        try {
+            // central directories read to compute missing fingerprints are reused by the comparison
+            JarContents oldContents = null;
+            JarContents newContents = null;
+            String oldFingerprint = fingerprints.cachedFingerprint(oldJar);
+            if (oldFingerprint == null) {
+                oldContents = JarContents.read(oldJar);
+                oldFingerprint = fingerprints.fingerprint(oldJar, oldContents);
+            }
+            String newFingerprint = fingerprints.cachedFingerprint(newJar);
+            if (newFingerprint == null) {
+                newContents = JarContents.read(newJar);
+                newFingerprint = fingerprints.fingerprint(newJar, newContents);
+            }
+            if (oldFingerprint.equals(newFingerprint)) {
+                return new Result(upgrade, true,
+                        String.format("%s%n  identical content, only build metadata differs%n%n", upgrade));
+            }
+            return new Result(upgrade, false, compare(upgrade,
+                    oldContents == null ? JarContents.read(oldJar) : oldContents,
+                    newContents == null ? JarContents.read(newJar) : newContents));
+        } catch (IOException e) {
+            LOG.warnf("Failed to compare jars of %s: %s", upgrade, e);
+            return new Result(upgrade, false, String.format("%s%n  failed to read jars: %s%n%n", upgrade, e.getMessage()));
+        }
+    }
+
+    static String compare(Upgrade upgrade, JarContents oldJar, JarContents newJar) throws IOException {
+        Map<String, JarContents.Entry> oldEntries = oldJar.entries();
+        Map<String, JarContents.Entry> newEntries = newJar.entries();
+        Set<String> addedClasses = new TreeSet<>();
+        Set<String> removedClasses = new TreeSet<>();
+        int changedClasses = 0;
+        int changedResources = 0;
+        for (JarContents.Entry newEntry : newEntries.values()) {
+            JarContents.Entry oldEntry = oldEntries.get(newEntry.name());
+            if (oldEntry == null) {
+                if (isClass(newEntry.name())) {
+                    addedClasses.add(className(newEntry.name()));
+                }
+            } else if (!oldEntry.sameContent(newEntry)) {
+                if (isClass(newEntry.name())) {
+                    changedClasses++;
+                } else if (!newEntry.isDirectory()) {
+                    changedResources++;
+                }
+            }
+        }
+        for (JarContents.Entry oldEntry : oldEntries.values()) {
+            if (!newEntries.containsKey(oldEntry.name()) && isClass(oldEntry.name())) {
+                removedClasses.add(className(oldEntry.name()));
+            }
+        }
+        Set<String> oldPackages = packages(oldEntries.keySet());
+        Set<String> newPackages = packages(newEntries.keySet());
+        List<String> services = compareServices(oldJar, newJar);
+
+        StringBuilder report = new StringBuilder();
+        report.append(upgrade).append(System.lineSeparator());
+        report.append(String.format("  entries: %d => %d, classes: +%d -%d ~%d, other changed files: %d%n",
+                oldEntries.size(), newEntries.size(), addedClasses.size(), removedClasses.size(), changedClasses,
+                changedResources));
+        newPackages.stream().filter(p -> !oldPackages.contains(p)).forEach(p -> appendLine(report, "+ package " + p));
+        oldPackages.stream().filter(p -> !newPackages.contains(p)).forEach(p -> appendLine(report, "- package " + p));
+        addedClasses.forEach(c -> appendLine(report, "+ class " + c));
+        removedClasses.forEach(c -> appendLine(report, "- class " + c));
+        services.forEach(s -> appendLine(report, s));
+        report.append(System.lineSeparator());
+        return report.toString();
+    }
+
+    /**
+     * Service files are small, the changed ones are decompressed to compare their providers.
+     */
+    private static List<String> compareServices(JarContents oldJar, JarContents newJar) throws IOException {
+        Set<String> names = new TreeSet<>();
+        oldJar.entries().keySet().stream().filter(JarDiff::isService).forEach(names::add);
+        newJar.entries().keySet().stream().filter(JarDiff::isService).forEach(names::add);
+        List<String> lines = new ArrayList<>();
+        for (String name : names) {
+            JarContents.Entry oldEntry = oldJar.entries().get(name);
+            JarContents.Entry newEntry = newJar.entries().get(name);
+            String service = name.substring(SERVICES_DIRECTORY.length());
+            if (oldEntry == null) {
+                lines.add("+ service " + service + " " + providers(newJar, name));
+            } else if (newEntry == null) {
+                lines.add("- service " + service + " " + providers(oldJar, name));
+            } else if (!oldEntry.sameContent(newEntry)) {
+                Set<String> oldProviders = providers(oldJar, name);
+                Set<String> newProviders = providers(newJar, name);
+                List<String> changes = new ArrayList<>();
+                newProviders.stream().filter(p -> !oldProviders.contains(p)).forEach(p -> changes.add("+" + p));
+                oldProviders.stream().filter(p -> !newProviders.contains(p)).forEach(p -> changes.add("-" + p));
+                if (!changes.isEmpty()) {
+                    lines.add("~ service " + service + " " + changes);
+                }
+            }
+        }
+        return lines;
+    }
+
+    private static Set<String> providers(JarContents jar, String serviceFile) throws IOException {
+        Set<String> providers = new TreeSet<>();
+        for (String line : new String(jar.content(serviceFile), StandardCharsets.UTF_8).split("\n")) {
+            int comment = line.indexOf('#');
+            String provider = (comment < 0 ? line : line.substring(0, comment)).trim();
+            if (!provider.isEmpty()) {
+                providers.add(provider);
+            }
+        }
+        return providers;
+    }
+
+    private static void appendLine(StringBuilder report, String line) {
+        report.append("  ").append(line).append(System.lineSeparator());
+    }
+
+    private static boolean isClass(String name) {
+        return name.endsWith(CLASS_EXTENSION);
+    }
+
+    private static boolean isService(String name) {
+        return name.startsWith(SERVICES_DIRECTORY) && name.length() > SERVICES_DIRECTORY.length() && !name.endsWith("/");
+    }
+
+    /**
+     * @return class name, multi-release classes keep their {@code META-INF/versions/N/} prefix
+     */
+    private static String className(String entryName) {
+        return entryName.substring(0, entryName.length() - CLASS_EXTENSION.length()).replace('/', '.');
+    }
+
+    private static Set<String> packages(Set<String> entryNames) {
+        Set<String> packages = new TreeSet<>();
+        for (String name : entryNames) {
+            int lastSlash = name.lastIndexOf('/');
+            if (isClass(name) && lastSlash > 0 && !name.startsWith(VERSIONS_DIRECTORY)) {
+                packages.add(name.substring(0, lastSlash).replace('/', '.'));
+            }
+        }
+        return Collections.unmodifiableSet(packages);
+    }
+
+    private static final class Result {
+        private final Upgrade upgrade;
+        private final boolean identical;
+        private final String report;
+
+        private Result(Upgrade upgrade, boolean identical, String report) {
+            this.upgrade = upgrade;
+            this.identical = identical;
+            this.report = report;
+        }
+    }
+
+    static final class Upgrade {
+        private final VersionedCoordinates oldCoordinates;
+        private final VersionedCoordinates newCoordinates;
+
+        Upgrade(VersionedCoordinates oldCoordinates, VersionedCoordinates newCoordinates) {
+            this.oldCoordinates = oldCoordinates;
+            this.newCoordinates = newCoordinates;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s - %s => %s", oldCoordinates.withoutVersion(), oldCoordinates.version(),
+                    newCoordinates.version());
+        }
+    }
+}
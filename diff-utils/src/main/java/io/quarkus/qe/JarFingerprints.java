@@ -0,0 +1,178 @@
+package io.quarkus.qe;
+
+import org.jboss.logging.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Content fingerprints of jars, the SHA-1 of the names, sizes and CRC-32s of the jar entries taken from the zip
+ * central directory. Directories and build metadata which changes with every rebuild (manifest, Maven descriptors,
+ * signatures) are left out, so two jars with the same fingerprint have byte-identical code and resources.
+ * <p>
+ * Fingerprints are cached on disk like {@link PomSummaryCache}, keyed by the jar URI and valid while the jar size
+ * and modification time are unchanged. Only the fingerprints used by the last run are stored, the cache file location
+ * is set by the {@code quarkus.jar-fingerprint-cache.file} system property.
+ */
+public final class JarFingerprints {
+    private static final Logger LOG = Logger.getLogger(JarFingerprints.class);
+    private static final int FORMAT_VERSION = 1;
+    private static final Path DEFAULT_CACHE_FILE = Paths.get(System.getProperty("java.io.tmpdir"),
+            "diff-utils-jar-fingerprints.bin");
+    private static final Pattern BUILD_METADATA = Pattern.compile("META-INF/MANIFEST\\.MF"
+            + "|META-INF/INDEX\\.LIST"
+            + "|META-INF/maven/.+/(pom\\.properties|pom\\.xml)"
+            + "|META-INF/[^/]+\\.(SF|RSA|DSA|EC)");
+
+    private final Path cacheFile;
+    private final Map<String, Entry> storedEntries;
+    private final Map<String, Entry> usedEntries = new ConcurrentHashMap<>();
+    private final AtomicInteger computed = new AtomicInteger();
+
+    private JarFingerprints(Path cacheFile, Map<String, Entry> storedEntries) {
+        this.cacheFile = cacheFile;
+        this.storedEntries = storedEntries;
+    }
+
+    /**
+     * @return fingerprints stored in the file set by the {@code quarkus.jar-fingerprint-cache.file} system property
+     * or in the default location in the temp directory
+     */
+    public static JarFingerprints load() {
+        String cacheFile = System.getProperty("quarkus.jar-fingerprint-cache.file");
+        return load(cacheFile == null || cacheFile.isBlank() ? DEFAULT_CACHE_FILE : Paths.get(cacheFile));
+    }
+
+    public static JarFingerprints load(Path cacheFile) {
+        Map<String, Entry> entries = new ConcurrentHashMap<>();
+        if (Files.isRegularFile(cacheFile)) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(cacheFile)))) {
+                if (in.readInt() == FORMAT_VERSION) {
+                    int count = in.readInt();
+                    for (int i = 0; i < count; i++) {
+                        entries.put(in.readUTF(), new Entry(in.readLong(), in.readLong(), in.readUTF()));
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                LOG.warnf("Ignoring unreadable jar fingerprint cache %s: %s", cacheFile, e);
+                entries.clear();
+            }
+        }
+        LOG.debugf("Loaded %d cached jar fingerprints from %s", entries.size(), cacheFile);
+        return new JarFingerprints(cacheFile, entries);
+    }
+
+    /**
+     * @return cached fingerprint of the jar, the central directory is read only if the jar isn't cached or has changed
+     */
+    public String fingerprint(Path jar) throws IOException {
+        String fingerprint = cachedFingerprint(jar);
+        return fingerprint == null ? fingerprint(jar, JarContents.read(jar)) : fingerprint;
+    }
+
+    /**
+     * @return cached fingerprint of the jar, null if the jar isn't cached or has changed
+     */
+    public String cachedFingerprint(Path jar) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(jar, BasicFileAttributes.class);
+        String key = jar.toUri().toString();
+        Entry entry = storedEntries.get(key);
+        if (entry == null || entry.size != attributes.size()
+                || entry.lastModified != attributes.lastModifiedTime().toMillis()) {
+            return null;
+        }
+        usedEntries.put(key, entry);
+        return entry.fingerprint;
+    }
+
+    /**
+     * @param contents central directory of the jar, already read by the caller
+     * @return fingerprint of the jar computed from its contents, it's stored to the cache
+     */
+    public String fingerprint(Path jar, JarContents contents) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(jar, BasicFileAttributes.class);
+        Entry entry = new Entry(attributes.size(), attributes.lastModifiedTime().toMillis(), fingerprint(contents));
+        computed.incrementAndGet();
+        usedEntries.put(jar.toUri().toString(), entry);
+        return entry.fingerprint;
+    }
+
+    /**
+     * @return SHA-1 of the entries which aren't directories or build metadata, in the entry name order
+     */
+    public static String fingerprint(JarContents jar) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        for (JarContents.Entry entry : jar.entries().values()) {
+            if (!entry.isDirectory() && !isBuildMetadata(entry.name())) {
+                digest.update(entry.name().getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+                digest.update(String.valueOf(entry.size()).getBytes(StandardCharsets.US_ASCII));
+                digest.update((byte) 0);
+                digest.update(String.valueOf(entry.crc()).getBytes(StandardCharsets.US_ASCII));
+                digest.update((byte) '\n');
+            }
+        }
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    static boolean isBuildMetadata(String entryName) {
+        return BUILD_METADATA.matcher(entryName).matches();
+    }
+
+    /**
+     * Replace the cache file with the fingerprints used since the cache was loaded.
+     */
+    public void save() throws IOException {
+        LOG.infof("Jar fingerprints: %d computed, storing %d entries to %s", computed.get(), usedEntries.size(), cacheFile);
+        Path parent = cacheFile.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path tmpFile = Files.createTempFile(parent, cacheFile.getFileName().toString(), ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmpFile)))) {
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(usedEntries.size());
+            for (Map.Entry<String, Entry> entry : usedEntries.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeLong(entry.getValue().size);
+                out.writeLong(entry.getValue().lastModified);
+                out.writeUTF(entry.getValue().fingerprint);
+            }
+        }
+        Files.move(tmpFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static final class Entry {
+        private final long size;
+        private final long lastModified;
+        private final String fingerprint;
+
+        private Entry(long size, long lastModified, String fingerprint) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.fingerprint = fingerprint;
+        }
+    }
+}
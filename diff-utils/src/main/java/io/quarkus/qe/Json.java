@@ -0,0 +1,57 @@
+package io.quarkus.qe;
+
+import java.util.Collection;
+
+/**
+ * Minimal JSON output helpers, diff-utils only writes flat objects and arrays of strings.
+ */
+final class Json {
+
+    private Json() {
+    }
+
+    static String quote(String value) {
+        if (value == null) {
+            return "null";
+        }
+        StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    quoted.append("\\\"");
+                    break;
+                case '\\':
+                    quoted.append("\\\\");
+                    break;
+                case '\n':
+                    quoted.append("\\n");
+                    break;
+                case '\r':
+                    quoted.append("\\r");
+                    break;
+                case '\t':
+                    quoted.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        quoted.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        quoted.append(c);
+                    }
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    static String array(Collection<?> values) {
+        StringBuilder array = new StringBuilder("[");
+        for (Object value : values) {
+            if (array.length() > 1) {
+                array.append(',');
+            }
+            array.append(quote(String.valueOf(value)));
+        }
+        return array.append(']').toString();
+    }
+}
@@ -0,0 +1,316 @@
+package io.quarkus.qe;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Line diff of two texts with the Myers O(ND) algorithm in its linear space variant, i.e. the middle snake
+ * of the edit graph is found from both ends and both halves are compared recursively. Lines are interned
+ * to int IDs first, so comparing two lines is one int comparison. Lines present in one text only can't be part
+ * of the common subsequence, they are marked as changed up front and the search runs on the remaining lines,
+ * which keeps it fast for artifact lists where most changes are added or removed artifacts.
+ */
+public final class LineDiff {
+
+    public enum Type {
+        EQUAL,
+        DELETE,
+        INSERT,
+        CHANGE
+    }
+
+    /**
+     * Range of old lines replaced by a range of new lines, end indexes are exclusive.
+     */
+    public static final class Hunk {
+        private final Type type;
+        private final int oldStart;
+        private final int oldEnd;
+        private final int newStart;
+        private final int newEnd;
+
+        Hunk(Type type, int oldStart, int oldEnd, int newStart, int newEnd) {
+            this.type = type;
+            this.oldStart = oldStart;
+            this.oldEnd = oldEnd;
+            this.newStart = newStart;
+            this.newEnd = newEnd;
+        }
+
+        public Type type() {
+            return type;
+        }
+
+        public int oldStart() {
+            return oldStart;
+        }
+
+        public int oldEnd() {
+            return oldEnd;
+        }
+
+        public int newStart() {
+            return newStart;
+        }
+
+        public int newEnd() {
+            return newEnd;
+        }
+
+        public int oldLength() {
+            return oldEnd - oldStart;
+        }
+
+        public int newLength() {
+            return newEnd - newStart;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s old[%d, %d) new[%d, %d)", type, oldStart, oldEnd, newStart, newEnd);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (!(o instanceof Hunk)) {
+                return false;
+            }
+
+            Hunk hunk = (Hunk) o;
+            return type == hunk.type && oldStart == hunk.oldStart && oldEnd == hunk.oldEnd && newStart == hunk.newStart
+                    && newEnd == hunk.newEnd;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, oldStart, oldEnd, newStart, newEnd);
+        }
+    }
+
+    // lines present in both texts, the search runs on them only
+    private final int[] oldLines;
+    private final int[] newLines;
+    private final boolean[] deleted;
+    private final boolean[] inserted;
+    // diagonals of the forward and the reverse search, reused by all recursion levels
+    private final int[] forward;
+    private final int[] reverse;
+
+    private LineDiff(int[] oldLines, int[] newLines) {
+        this.oldLines = oldLines;
+        this.newLines = newLines;
+        this.deleted = new boolean[oldLines.length];
+        this.inserted = new boolean[newLines.length];
+        int diagonals = oldLines.length + newLines.length + 2;
+        this.forward = new int[diagonals];
+        this.reverse = new int[diagonals];
+    }
+
+    /**
+     * @return hunks covering all lines of both texts in order, equal hunks included
+     */
+    public static List<Hunk> compute(List<String> oldText, List<String> newText) {
+        Map<String, Integer> ids = new HashMap<>();
+        int[] oldLines = intern(oldText, ids);
+        int[] newLines = intern(newText, ids);
+        boolean[] inOld = new boolean[ids.size()];
+        boolean[] inNew = new boolean[ids.size()];
+        for (int id : oldLines) {
+            inOld[id] = true;
+        }
+        for (int id : newLines) {
+            inNew[id] = true;
+        }
+        int[] commonOld = common(oldLines, inNew);
+        int[] commonNew = common(newLines, inOld);
+
+        LineDiff diff = new LineDiff(select(oldLines, commonOld), select(newLines, commonNew));
+        diff.compare(0, diff.oldLines.length, 0, diff.newLines.length);
+        return hunks(changed(oldLines.length, commonOld, diff.deleted), changed(newLines.length, commonNew, diff.inserted));
+    }
+
+    /**
+     * @return indexes of the lines present in the other text
+     */
+    private static int[] common(int[] lines, boolean[] inOther) {
+        IntArrayList common = new IntArrayList(lines.length);
+        for (int i = 0; i < lines.length; i++) {
+            if (inOther[lines[i]]) {
+                common.add(i);
+            }
+        }
+        return common.toArray();
+    }
+
+    private static int[] select(int[] lines, int[] indexes) {
+        int[] selected = new int[indexes.length];
+        for (int i = 0; i < indexes.length; i++) {
+            selected[i] = lines[indexes[i]];
+        }
+        return selected;
+    }
+
+    /**
+     * @return changed flags of all lines, lines missing in the common ones are changed
+     */
+    private static boolean[] changed(int lineCount, int[] commonIndexes, boolean[] commonChanged) {
+        boolean[] changed = new boolean[lineCount];
+        Arrays.fill(changed, true);
+        for (int i = 0; i < commonIndexes.length; i++) {
+            changed[commonIndexes[i]] = commonChanged[i];
+        }
+        return changed;
+    }
+
+    private static int[] intern(List<String> lines, Map<String, Integer> ids) {
+        int[] result = new int[lines.size()];
+        for (int i = 0; i < result.length; i++) {
+            Integer id = ids.get(lines.get(i));
+            if (id == null) {
+                id = ids.size();
+                ids.put(lines.get(i), id);
+            }
+            result[i] = id;
+        }
+        return result;
+    }
+
+    private void compare(int oldStart, int oldEnd, int newStart, int newEnd) {
+        while (oldStart < oldEnd && newStart < newEnd && oldLines[oldStart] == newLines[newStart]) {
+            oldStart++;
+            newStart++;
+        }
+        while (oldStart < oldEnd && newStart < newEnd && oldLines[oldEnd - 1] == newLines[newEnd - 1]) {
+            oldEnd--;
+            newEnd--;
+        }
+        if (oldStart == oldEnd || newStart == newEnd) {
+            Arrays.fill(deleted, oldStart, oldEnd, true);
+            Arrays.fill(inserted, newStart, newEnd, true);
+            return;
+        }
+
+        long split = middleSnake(oldStart, oldEnd, newStart, newEnd);
+        if (split < 0) {
+            Arrays.fill(deleted, oldStart, oldEnd, true);
+            Arrays.fill(inserted, newStart, newEnd, true);
+            return;
+        }
+        int oldSplit = oldStart + (int) (split >>> 32);
+        int newSplit = newStart + (int) split;
+        compare(oldStart, oldSplit, newStart, newSplit);
+        compare(oldSplit, oldEnd, newSplit, newEnd);
+    }
+
+    /**
+     * @return offsets of the middle snake start packed as {@code old << 32 | new}, negative if there is no common line
+     */
+    private long middleSnake(int oldStart, int oldEnd, int newStart, int newEnd) {
+        int oldLength = oldEnd - oldStart;
+        int newLength = newEnd - newStart;
+        int maxD = (oldLength + newLength + 1) / 2;
+        int offset = maxD;
+        int length = 2 * maxD;
+        Arrays.fill(forward, 0, length, -1);
+        Arrays.fill(reverse, 0, length, -1);
+        forward[offset + 1] = 0;
+        reverse[offset + 1] = 0;
+        int delta = oldLength - newLength;
+        // if the total number of lines is odd, the forward path overlaps the reverse one first
+        boolean front = delta % 2 != 0;
+        int forwardStart = 0;
+        int forwardEnd = 0;
+        int reverseStart = 0;
+        int reverseEnd = 0;
+        for (int d = 0; d < maxD; d++) {
+            for (int k = -d + forwardStart; k <= d - forwardEnd; k += 2) {
+                int kOffset = offset + k;
+                int x = k == -d || (k != d && forward[kOffset - 1] < forward[kOffset + 1])
+                        ? forward[kOffset + 1]
+                        : forward[kOffset - 1] + 1;
+                int y = x - k;
+                while (x < oldLength && y < newLength && oldLines[oldStart + x] == newLines[newStart + y]) {
+                    x++;
+                    y++;
+                }
+                forward[kOffset] = x;
+                if (x > oldLength) {
+                    forwardEnd += 2;
+                } else if (y > newLength) {
+                    forwardStart += 2;
+                } else if (front) {
+                    int reverseOffset = offset + delta - k;
+                    if (reverseOffset >= 0 && reverseOffset < length && reverse[reverseOffset] != -1
+                            && x >= oldLength - reverse[reverseOffset]) {
+                        return ((long) x << 32) | y;
+                    }
+                }
+            }
+
+            for (int k = -d + reverseStart; k <= d - reverseEnd; k += 2) {
+                int kOffset = offset + k;
+                int x = k == -d || (k != d && reverse[kOffset - 1] < reverse[kOffset + 1])
+                        ? reverse[kOffset + 1]
+                        : reverse[kOffset - 1] + 1;
+                int y = x - k;
+                while (x < oldLength && y < newLength
+                        && oldLines[oldEnd - x - 1] == newLines[newEnd - y - 1]) {
+                    x++;
+                    y++;
+                }
+                reverse[kOffset] = x;
+                if (x > oldLength) {
+                    reverseEnd += 2;
+                } else if (y > newLength) {
+                    reverseStart += 2;
+                } else if (!front) {
+                    int forwardOffset = offset + delta - k;
+                    if (forwardOffset >= 0 && forwardOffset < length && forward[forwardOffset] != -1) {
+                        int forwardX = forward[forwardOffset];
+                        int forwardY = offset + forwardX - forwardOffset;
+                        if (forwardX >= oldLength - x) {
+                            return ((long) forwardX << 32) | forwardY;
+                        }
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static List<Hunk> hunks(boolean[] deleted, boolean[] inserted) {
+        List<Hunk> hunks = new ArrayList<>();
+        int oldIndex = 0;
+        int newIndex = 0;
+        while (oldIndex < deleted.length || newIndex < inserted.length) {
+            int oldStart = oldIndex;
+            int newStart = newIndex;
+            while (oldIndex < deleted.length && newIndex < inserted.length && !deleted[oldIndex] && !inserted[newIndex]) {
+                oldIndex++;
+                newIndex++;
+            }
+            if (oldIndex > oldStart) {
+                hunks.add(new Hunk(Type.EQUAL, oldStart, oldIndex, newStart, newIndex));
+                continue;
+            }
+            while (oldIndex < deleted.length && deleted[oldIndex]) {
+                oldIndex++;
+            }
+            while (newIndex < inserted.length && inserted[newIndex]) {
+                newIndex++;
+            }
+            Type type = oldIndex == oldStart ? Type.INSERT : newIndex == newStart ? Type.DELETE : Type.CHANGE;
+            hunks.add(new Hunk(type, oldStart, oldIndex, newStart, newIndex));
+        }
+        return Collections.unmodifiableList(hunks);
+    }
+}
@@ -1,10 +1,53 @@
 package io.quarkus.qe;
 
 import java.io.IOException;
+import java.nio.file.Paths;
 
 public class Main {
     public static void main(String[] args) throws IOException {
-        AddedArtifactsPrint addedArtifactsPrint = new AddedArtifactsPrint();
-        addedArtifactsPrint.printToFile();
+        String mode = System.getProperty("quarkus.diff-utils.mode", "added-artifacts");
+        RunMetrics metrics = RunMetrics.get();
+        // the server runs until it's stopped, its counters don't change once the index is loaded
+        if (!"server".equals(mode)) {
+            metrics.startProgressLogging(Integer.getInteger("quarkus.metrics.progress-interval", 10));
+        }
+        switch (mode) {
+            case "added-artifacts":
+                AddedArtifactsPrint addedArtifactsPrint = new AddedArtifactsPrint();
+                addedArtifactsPrint.printToFile();
+                break;
+            case "gav-diff":
+                GavListDiffer gavListDiffer = new GavListDiffer();
+                gavListDiffer.writeToFiles();
+                break;
+            case "html-diff":
+                HtmlDiffReport htmlDiffReport = new HtmlDiffReport();
+                htmlDiffReport.writeToFile();
+                break;
+            case "verify":
+                RepositoryVerifier repositoryVerifier = new RepositoryVerifier();
+                repositoryVerifier.writeToFile();
+                break;
+            case "jar-diff":
+                JarDiff jarDiff = new JarDiff();
+                jarDiff.writeToFile();
+                break;
+            case "build-matrix":
+                BuildMatrix buildMatrix = new BuildMatrix();
+                buildMatrix.writeToFile();
+                break;
+            case "repo-size":
+                RepositorySizeReport repositorySizeReport = new RepositorySizeReport();
+                repositorySizeReport.writeToFile();
+                break;
+            case "server":
+                DependencyQueryServer dependencyQueryServer = new DependencyQueryServer();
+                dependencyQueryServer.run();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown 'quarkus.diff-utils.mode': " + mode);
+        }
+        metrics.stopProgressLogging();
+        metrics.writeToFile(Paths.get(System.getProperty("user.dir"), "diff_utils_metrics_" + mode + ".json"));
     }
 }
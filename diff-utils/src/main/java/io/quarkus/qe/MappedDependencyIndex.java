@@ -0,0 +1,433 @@
+package io.quarkus.qe;
+
+import org.jboss.logging.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link DependencyIndex} stored in a binary file which is memory-mapped and queried in place, so the index
+ * is built once and reused by later runs and by other tools until the repository changes.
+ * <p>
+ * The file starts with a header of int counts, followed by int arrays and the UTF-8 bytes of all strings:
+ * <pre>
+ * MAGIC, FORMAT_VERSION, fingerprint string ID, string count, string bytes length, GA count, GAV count,
+ *        artifact count, edge count
+ * string offsets        [string count + 1]  offsets of the strings in the string bytes
+ * GA groupIds           [GA count]          GAs are sorted by groupId and artifactId UTF-8 bytes
+ * GA artifactIds        [GA count]
+ * GAV GAs               [GAV count]
+ * GAV versions          [GAV count]
+ * artifacts start       [GA count + 1]      artifacts of GA n are artifact GAVs[start[n]] .. [start[n + 1] - 1]
+ * artifact GAVs         [artifact count]
+ * dependents start      [GA count + 1]      edges declaring a dependency on GA n, in the repository order
+ * dependent GAVs        [edge count]
+ * dependency GAVs       [edge count]
+ * transitive flags      [edge count]        one byte per edge
+ * string bytes          [string bytes length]
+ * </pre>
+ * GAs are found by a binary search comparing the query bytes with the mapped string bytes, nothing is decoded
+ * or copied to heap until a result is returned. The mapped buffer is only read with absolute gets,
+ * so an instance can be shared by threads.
+ */
+public final class MappedDependencyIndex {
+    private static final Logger LOG = Logger.getLogger(MappedDependencyIndex.class);
+    private static final int MAGIC = 0x44554958; // "DUIX"
+    private static final int FORMAT_VERSION = 2;
+    private static final int HEADER_INTS = 9;
+    private static final Path DEFAULT_INDEX_FILE = Paths.get(System.getProperty("java.io.tmpdir"),
+            "diff-utils-dependency-index.bin");
+
+    private final Path file;
+    private final String fingerprint;
+    private final int gaCount;
+    private final IntBuffer stringOffsets;
+    private final IntBuffer gaGroupIds;
+    private final IntBuffer gaArtifactIds;
+    private final IntBuffer gavGas;
+    private final IntBuffer gavVersions;
+    private final IntBuffer artifactsStart;
+    private final IntBuffer artifactGavs;
+    private final IntBuffer dependentsStart;
+    private final IntBuffer dependentGavs;
+    private final IntBuffer dependencyGavs;
+    private final ByteBuffer transitiveEdges;
+    private final ByteBuffer stringBytes;
+
+    private MappedDependencyIndex(Path file, ByteBuffer buffer) {
+        this.file = file;
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IllegalStateException("Unsupported dependency index format of " + file);
+        }
+        int fingerprintId = buffer.getInt(8);
+        int stringCount = buffer.getInt(12);
+        int stringBytesLength = buffer.getInt(16);
+        gaCount = buffer.getInt(20);
+        int gavCount = buffer.getInt(24);
+        int artifactCount = buffer.getInt(28);
+        int edgeCount = buffer.getInt(32);
+
+        int offset = HEADER_INTS * Integer.BYTES;
+        stringOffsets = ints(buffer, offset, stringCount + 1);
+        gaGroupIds = ints(buffer, offset += (stringCount + 1) * Integer.BYTES, gaCount);
+        gaArtifactIds = ints(buffer, offset += gaCount * Integer.BYTES, gaCount);
+        gavGas = ints(buffer, offset += gaCount * Integer.BYTES, gavCount);
+        gavVersions = ints(buffer, offset += gavCount * Integer.BYTES, gavCount);
+        artifactsStart = ints(buffer, offset += gavCount * Integer.BYTES, gaCount + 1);
+        artifactGavs = ints(buffer, offset += (gaCount + 1) * Integer.BYTES, artifactCount);
+        dependentsStart = ints(buffer, offset += artifactCount * Integer.BYTES, gaCount + 1);
+        dependentGavs = ints(buffer, offset += (gaCount + 1) * Integer.BYTES, edgeCount);
+        dependencyGavs = ints(buffer, offset += edgeCount * Integer.BYTES, edgeCount);
+        transitiveEdges = bytes(buffer, offset += edgeCount * Integer.BYTES, edgeCount);
+        stringBytes = bytes(buffer, offset += edgeCount, stringBytesLength);
+        if (offset + stringBytesLength != buffer.capacity()) {
+            throw new IllegalStateException("Truncated dependency index " + file);
+        }
+        fingerprint = string(fingerprintId);
+    }
+
+    private static IntBuffer ints(ByteBuffer buffer, int offset, int length) {
+        return bytes(buffer, offset, length * Integer.BYTES).asIntBuffer();
+    }
+
+    private static ByteBuffer bytes(ByteBuffer buffer, int offset, int length) {
+        ByteBuffer slice = buffer.duplicate();
+        slice.position(offset).limit(offset + length);
+        return slice.slice();
+    }
+
+    /**
+     * @return file set by the {@code quarkus.dependency-index.file} system property or the default one in the temp directory
+     */
+    public static Path defaultFile() {
+        String indexFile = System.getProperty("quarkus.dependency-index.file");
+        return indexFile == null || indexFile.isBlank() ? DEFAULT_INDEX_FILE : Paths.get(indexFile);
+    }
+
+    /**
+     * Map the index file into memory, the file isn't read until it is queried.
+     */
+    public static MappedDependencyIndex open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new MappedDependencyIndex(file, buffer);
+        }
+    }
+
+    /**
+     * @return index stored in the file if it was built from the repository with the same fingerprint,
+     * null if the file is missing, unreadable or stale
+     */
+    public static MappedDependencyIndex openIfCurrent(Path file, String fingerprint) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            MappedDependencyIndex index = open(file);
+            if (index.fingerprint.equals(fingerprint)) {
+                return index;
+            }
+            LOG.debugf("Dependency index %s was built from another repository state", file);
+        } catch (IOException | RuntimeException e) {
+            LOG.warnf("Ignoring unreadable dependency index %s: %s", file, e);
+        }
+        return null;
+    }
+
+    /**
+     * Store the index to the file, the file is replaced atomically so processes mapping the old file aren't affected.
+     *
+     * @param fingerprint identification of the repository state the index was built from, see {@link MavenRepo#fingerprint()}
+     */
+    public static void write(DependencyIndex index, Path file, String fingerprint) throws IOException {
+        CoordinatePool pool = index.pool();
+        StringTable strings = new StringTable();
+        int fingerprintId = strings.id(fingerprint);
+        int[] gaGroupIds = new int[pool.gaCount()];
+        int[] gaArtifactIds = new int[pool.gaCount()];
+        for (int ga = 0; ga < pool.gaCount(); ga++) {
+            gaGroupIds[ga] = strings.id(pool.groupId(ga));
+            gaArtifactIds[ga] = strings.id(pool.artifactId(ga));
+        }
+        int[] gavVersions = new int[pool.gavCount()];
+        for (int gav = 0; gav < pool.gavCount(); gav++) {
+            gavVersions[gav] = strings.id(pool.version(gav));
+        }
+
+        // GAs sorted by their bytes for the binary search, sortedGas[new ID] is the pool ID
+        Integer[] sortedGas = new Integer[pool.gaCount()];
+        Arrays.setAll(sortedGas, ga -> ga);
+        Arrays.sort(sortedGas, Comparator.<Integer, byte[]> comparing(ga -> strings.bytes(gaGroupIds[ga]), Arrays::compareUnsigned)
+                .thenComparing(ga -> strings.bytes(gaArtifactIds[ga]), Arrays::compareUnsigned));
+        int[] newGaIds = new int[pool.gaCount()];
+        for (int i = 0; i < sortedGas.length; i++) {
+            newGaIds[sortedGas[i]] = i;
+        }
+
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path tmpFile = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmpFile), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(fingerprintId);
+            out.writeInt(strings.size());
+            out.writeInt(strings.bytesLength());
+            out.writeInt(pool.gaCount());
+            out.writeInt(pool.gavCount());
+            out.writeInt(index.artifactCount());
+            out.writeInt(index.edgeCount());
+
+            int stringOffset = 0;
+            for (int id = 0; id < strings.size(); id++) {
+                out.writeInt(stringOffset);
+                stringOffset += strings.bytes(id).length;
+            }
+            out.writeInt(stringOffset);
+            for (int ga : sortedGas) {
+                out.writeInt(gaGroupIds[ga]);
+            }
+            for (int ga : sortedGas) {
+                out.writeInt(gaArtifactIds[ga]);
+            }
+            for (int gav = 0; gav < pool.gavCount(); gav++) {
+                out.writeInt(newGaIds[pool.gaOf(gav)]);
+            }
+            for (int gav = 0; gav < pool.gavCount(); gav++) {
+                out.writeInt(gavVersions[gav]);
+            }
+
+            int start = 0;
+            for (int ga : sortedGas) {
+                out.writeInt(start);
+                start += index.artifactsTo(ga) - index.artifactsFrom(ga);
+            }
+            out.writeInt(start);
+            for (int ga : sortedGas) {
+                for (int i = index.artifactsFrom(ga); i < index.artifactsTo(ga); i++) {
+                    out.writeInt(index.artifactGav(i));
+                }
+            }
+
+            start = 0;
+            for (int ga : sortedGas) {
+                out.writeInt(start);
+                start += index.dependentsTo(ga) - index.dependentsFrom(ga);
+            }
+            out.writeInt(start);
+            for (int ga : sortedGas) {
+                for (int edge = index.dependentsFrom(ga); edge < index.dependentsTo(ga); edge++) {
+                    out.writeInt(index.dependentGav(edge));
+                }
+            }
+            for (int ga : sortedGas) {
+                for (int edge = index.dependentsFrom(ga); edge < index.dependentsTo(ga); edge++) {
+                    out.writeInt(index.dependencyGav(edge));
+                }
+            }
+            for (int ga : sortedGas) {
+                for (int edge = index.dependentsFrom(ga); edge < index.dependentsTo(ga); edge++) {
+                    out.writeByte(index.isTransitive(edge) ? 1 : 0);
+                }
+            }
+            for (int id = 0; id < strings.size(); id++) {
+                out.write(strings.bytes(id));
+            }
+        }
+        Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        LOG.debugf("Stored dependency index of %d GAs and %d edges to %s", pool.gaCount(), index.edgeCount(), file);
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    /**
+     * @return identification of the repository state the index was built from
+     */
+    public String fingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * @return coordinates of all artifacts present in the repository, sorted
+     */
+    public Set<Coordinates> coordinates() {
+        Set<Coordinates> coordinates = new LinkedHashSet<>();
+        for (int ga = 0; ga < gaCount; ga++) {
+            if (artifactsStart.get(ga) < artifactsStart.get(ga + 1)) {
+                coordinates.add(coordinates(ga));
+            }
+        }
+        return Collections.unmodifiableSet(coordinates);
+    }
+
+    /**
+     * @return versions of the artifact present in the repository, empty if the artifact isn't there
+     */
+    public Set<String> versions(Coordinates coordinates) {
+        int ga = findGa(coordinates);
+        if (ga == CoordinatePool.MISSING) {
+            return Collections.emptySet();
+        }
+        Set<String> versions = new LinkedHashSet<>();
+        for (int i = artifactsStart.get(ga); i < artifactsStart.get(ga + 1); i++) {
+            versions.add(string(gavVersions.get(artifactGavs.get(i))));
+        }
+        return Collections.unmodifiableSet(versions);
+    }
+
+    /**
+     * @return artifacts of the repository declaring a dependency on any version of given artifact
+     */
+    public Set<Dependent> dependents(Coordinates coordinates) {
+        int ga = findGa(coordinates);
+        if (ga == CoordinatePool.MISSING) {
+            return Collections.emptySet();
+        }
+        Set<Dependent> dependents = new LinkedHashSet<>();
+        for (int edge = dependentsFrom(ga); edge < dependentsTo(ga); edge++) {
+            dependents.add(new Dependent(versionedCoordinates(dependentGavs.get(edge)),
+                    versionedCoordinates(dependencyGavs.get(edge)).toString()));
+        }
+        return Collections.unmodifiableSet(dependents);
+    }
+
+    /**
+     * @return ID of the coordinates or {@link CoordinatePool#MISSING}, found by a binary search over the sorted GAs
+     */
+    int findGa(Coordinates coordinates) {
+        byte[] groupId = coordinates.groupId().getBytes(StandardCharsets.UTF_8);
+        byte[] artifactId = coordinates.artifactId().getBytes(StandardCharsets.UTF_8);
+        int low = 0;
+        int high = gaCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int order = compare(gaGroupIds.get(middle), groupId);
+            if (order == 0) {
+                order = compare(gaArtifactIds.get(middle), artifactId);
+            }
+            if (order < 0) {
+                low = middle + 1;
+            } else if (order > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return CoordinatePool.MISSING;
+    }
+
+    int gaCount() {
+        return gaCount;
+    }
+
+    int gaOf(int gav) {
+        return gavGas.get(gav);
+    }
+
+    int dependentsFrom(int ga) {
+        return dependentsStart.get(ga);
+    }
+
+    int dependentsTo(int ga) {
+        return dependentsStart.get(ga + 1);
+    }
+
+    int dependentGav(int edge) {
+        return dependentGavs.get(edge);
+    }
+
+    boolean isTransitive(int edge) {
+        return transitiveEdges.get(edge) != 0;
+    }
+
+    Coordinates coordinates(int ga) {
+        return new Coordinates(string(gaGroupIds.get(ga)), string(gaArtifactIds.get(ga)));
+    }
+
+    private VersionedCoordinates versionedCoordinates(int gav) {
+        int ga = gavGas.get(gav);
+        return new VersionedCoordinates(string(gaGroupIds.get(ga)), string(gaArtifactIds.get(ga)),
+                string(gavVersions.get(gav)));
+    }
+
+    /**
+     * Compare the mapped string with the bytes as unsigned bytes, which is the order of the GAs in the file.
+     */
+    private int compare(int stringId, byte[] value) {
+        int start = stringOffsets.get(stringId);
+        int length = stringOffsets.get(stringId + 1) - start;
+        for (int i = 0; i < Math.min(length, value.length); i++) {
+            int order = Integer.compare(stringBytes.get(start + i) & 0xFF, value[i] & 0xFF);
+            if (order != 0) {
+                return order;
+            }
+        }
+        return Integer.compare(length, value.length);
+    }
+
+    private String string(int stringId) {
+        int start = stringOffsets.get(stringId);
+        byte[] value = new byte[stringOffsets.get(stringId + 1) - start];
+        ByteBuffer source = stringBytes.duplicate();
+        source.position(start);
+        source.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String toString() {
+        return "dependency index " + file;
+    }
+
+    private static final class StringTable {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<byte[]> values = new ArrayList<>();
+        private int bytesLength;
+
+        private int id(String value) {
+            Integer id = ids.get(value);
+            if (id == null) {
+                id = values.size();
+                ids.put(value, id);
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                values.add(bytes);
+                bytesLength += bytes.length;
+            }
+            return id;
+        }
+
+        private byte[] bytes(int id) {
+            return values.get(id);
+        }
+
+        private int size() {
+            return values.size();
+        }
+
+        private int bytesLength() {
+            return bytesLength;
+        }
+    }
+}
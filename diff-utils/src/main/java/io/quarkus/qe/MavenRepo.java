@@ -1,35 +1,175 @@
 package io.quarkus.qe;
 
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
 import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-public final class MavenRepo {
+/**
+ * Maven repository stored in a directory or in a zip archive, e.g. the RHBQ {@code maven-repository.zip}.
+ * Repositories backed by an archive are read through a zip file system without extracting the archive,
+ * so they need to be closed.
+ */
+public final class MavenRepo implements Closeable {
+    public static final Predicate<String> POM_FILES = fileName -> fileName.endsWith(".pom");
+    public static final Predicate<String> ALL_FILES = fileName -> true;
+
+    private static final String ZIP_EXTENSION = ".zip";
+    private static final String ZIP_REPOSITORY_DIR_NAME = "maven-repository";
+
     private final Path rootDirectory;
+    private final Path zipFile;
+    private final FileSystem zipFileSystem;
 
-    private MavenRepo(Path rootDirectory) {
+    private MavenRepo(Path rootDirectory, Path zipFile, FileSystem zipFileSystem) {
         this.rootDirectory = rootDirectory;
+        this.zipFile = zipFile;
+        this.zipFileSystem = zipFileSystem;
     }
 
-    public static MavenRepo at(Path rootDirectory) {
-        if (!Files.isDirectory(rootDirectory)) {
-            throw new IllegalArgumentException("Directory expected: " + rootDirectory);
+    /**
+     * @param location repository directory or zip archive containing the repository
+     */
+    public static MavenRepo at(Path location) {
+        Path normalizedLocation = location.toAbsolutePath().normalize();
+        if (Files.isRegularFile(normalizedLocation) && normalizedLocation.getFileName().toString().endsWith(ZIP_EXTENSION)) {
+            return inZip(normalizedLocation);
         }
+        if (!Files.isDirectory(normalizedLocation)) {
+            throw new IllegalArgumentException("Directory or zip file expected: " + location);
+        }
+
+        return new MavenRepo(normalizedLocation, null, null);
+    }
 
-        return new MavenRepo(rootDirectory.toAbsolutePath().normalize());
+    private static MavenRepo inZip(Path zipFile) {
+        try {
+            FileSystem fileSystem = FileSystems.newFileSystem(zipFile, (ClassLoader) null);
+            return new MavenRepo(zipRepositoryRoot(fileSystem), zipFile, fileSystem);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open zip file " + zipFile, e);
+        }
     }
 
+    /**
+     * RHBQ zips contain the repository in {@code <zip-name>/maven-repository/}, the zip root is used for other zips.
+     */
+    private static Path zipRepositoryRoot(FileSystem fileSystem) throws IOException {
+        Path zipRoot = fileSystem.getPath("/");
+        if (Files.isDirectory(zipRoot.resolve(ZIP_REPOSITORY_DIR_NAME))) {
+            return zipRoot.resolve(ZIP_REPOSITORY_DIR_NAME);
+        }
+        try (DirectoryStream<Path> topLevelEntries = Files.newDirectoryStream(zipRoot)) {
+            for (Path entry : topLevelEntries) {
+                Path repositoryRoot = entry.resolve(ZIP_REPOSITORY_DIR_NAME);
+                if (Files.isDirectory(repositoryRoot)) {
+                    return repositoryRoot;
+                }
+            }
+        }
+        return zipRoot;
+    }
+
+    /**
+     * @return POM artifacts of the repository
+     */
     public Stream<Artifact> artifacts() throws IOException {
-        return Files.walk(rootDirectory)
-                .filter(Files::isRegularFile)
-                .map(path -> new Artifact(path, rootDirectory));
+        return artifacts(POM_FILES);
+    }
+
+    /**
+     * Walk the repository in parallel, only the files accepted by the filter are returned.
+     *
+     * @param fileNameFilter accepts base names of the files to return, e.g. {@link #POM_FILES} or {@link #ALL_FILES}
+     * @return artifacts of the repository sorted by their path
+     */
+    public Stream<Artifact> artifacts(Predicate<String> fileNameFilter) throws IOException {
+        List<Path> files;
+        try (RunMetrics.Phase phase = RunMetrics.get().phase("walk")) {
+            files = RepositoryWalker.walk(rootDirectory, fileNameFilter);
+        }
+        return files.stream().map(path -> new Artifact(path, rootDirectory));
+    }
+
+    /**
+     * @param extension file extension with an optional classifier, e.g. {@code jar} or {@code sources.jar}
+     * @return path of the artifact file in the repository layout, the file may not exist
+     */
+    public Path artifactFile(VersionedCoordinates coordinates, String extension) {
+        String separator = extension.indexOf('.') > 0 ? "-" : ".";
+        return rootDirectory.resolve(coordinates.groupId().replace('.', '/'))
+                .resolve(coordinates.artifactId())
+                .resolve(coordinates.version())
+                .resolve(coordinates.artifactId() + "-" + coordinates.version() + separator + extension);
+    }
+
+    /**
+     * Identification of the repository state, it changes whenever a POM is added, removed or modified.
+     * Only file attributes are read: the zip file ones for an archive, the ones of every POM for a directory.
+     *
+     * @return SHA-1 of the POM paths with their sizes and modification times
+     */
+    public String fingerprint() throws IOException {
+        List<String> states;
+        if (zipFile != null) {
+            states = List.of(zipFile + ":" + fileState(zipFile));
+        } else {
+            try (Stream<Artifact> artifacts = artifacts()) {
+                states = artifacts.parallel()
+                        .map(artifact -> artifact.relativePath() + ":" + fileState(artifact.file()))
+                        .collect(Collectors.toList());
+            }
+        }
+
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        for (String state : states) {
+            digest.update(state.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+        }
+        StringBuilder fingerprint = new StringBuilder();
+        for (byte b : digest.digest()) {
+            fingerprint.append(String.format("%02x", b));
+        }
+        return fingerprint.toString();
+    }
+
+    private static String fileState(Path file) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            return attributes.size() + ":" + attributes.lastModifiedTime().toMillis();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read attributes of " + file, e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (zipFileSystem != null) {
+            zipFileSystem.close();
+        }
     }
 
     @Override
     public String toString() {
-        return "Maven repository " + rootDirectory;
+        return zipFile == null ? "Maven repository " + rootDirectory : "Maven repository " + rootDirectory + " in " + zipFile;
     }
 
     @Override
@@ -43,11 +183,11 @@ public final class MavenRepo {
         }
 
         MavenRepo mavenRepo = (MavenRepo) o;
-        return Objects.equals(rootDirectory, mavenRepo.rootDirectory);
+        return Objects.equals(rootDirectory, mavenRepo.rootDirectory) && Objects.equals(zipFile, mavenRepo.zipFile);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(rootDirectory);
+        return Objects.hash(rootDirectory, zipFile);
     }
 }
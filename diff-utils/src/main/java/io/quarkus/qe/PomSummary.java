@@ -0,0 +1,471 @@
+package io.quarkus.qe;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Parts of a POM needed by diff-utils, read with a single streaming pass over the file.
+ * Only the POM itself is read, nothing is inherited from the parent or interpolated.
+ * Dependencies declared in profiles and plugin dependencies are not part of the summary.
+ */
+public final class PomSummary {
+    private static final ThreadLocal<XMLInputFactory> XML_INPUT_FACTORY = ThreadLocal.withInitial(() -> {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, false);
+        return factory;
+    });
+
+    private final String groupId;
+    private final String artifactId;
+    private final String version;
+    private final String packaging;
+    private final VersionedCoordinates parent;
+    private final Map<String, String> properties;
+    private final List<Dependency> dependencyManagement;
+    private final List<Dependency> dependencies;
+
+    PomSummary(String groupId, String artifactId, String version, String packaging, VersionedCoordinates parent,
+            Map<String, String> properties, List<Dependency> dependencyManagement, List<Dependency> dependencies) {
+        this.groupId = groupId;
+        this.artifactId = artifactId;
+        this.version = version;
+        this.packaging = packaging;
+        this.parent = parent;
+        this.properties = Collections.unmodifiableMap(properties);
+        this.dependencyManagement = Collections.unmodifiableList(dependencyManagement);
+        this.dependencies = Collections.unmodifiableList(dependencies);
+    }
+
+    public static PomSummary read(Path file) {
+        byte[] content;
+        try {
+            content = Files.readAllBytes(file);
+        } catch (IOException e) {
+            RunMetrics.get().increment(RunMetrics.Counter.PARSE_FAILURES);
+            throw new UncheckedIOException("Failed to read POM " + file, e);
+        }
+        RunMetrics.get().add(RunMetrics.Counter.BYTES_READ, content.length);
+        return read(new ByteArrayInputStream(content), file.toString());
+    }
+
+    /**
+     * @param source description of the stream used in error messages
+     */
+    public static PomSummary read(InputStream in, String source) {
+        try {
+            XMLStreamReader reader = XML_INPUT_FACTORY.get().createXMLStreamReader(in);
+            PomSummary summary;
+            try {
+                summary = new Parser().parse(reader);
+            } finally {
+                reader.close();
+            }
+            RunMetrics metrics = RunMetrics.get();
+            metrics.increment(RunMetrics.Counter.POMS_PARSED);
+            metrics.add(RunMetrics.Counter.DEPENDENCIES_EXTRACTED,
+                    summary.dependencyManagement.size() + summary.dependencies.size());
+            return summary;
+        } catch (XMLStreamException e) {
+            RunMetrics.get().increment(RunMetrics.Counter.PARSE_FAILURES);
+            throw new IllegalStateException("Failed to parse POM " + source, e);
+        } catch (RuntimeException e) {
+            RunMetrics.get().increment(RunMetrics.Counter.PARSE_FAILURES);
+            throw e;
+        }
+    }
+
+    /**
+     * @return coordinates of the POM, group ID and version are inherited from the parent when not declared
+     */
+    public VersionedCoordinates versionedCoordinates() {
+        String effectiveGroupId = groupId;
+        if ((effectiveGroupId == null || effectiveGroupId.isEmpty()) && parent != null) {
+            effectiveGroupId = parent.groupId();
+        }
+        String effectiveVersion = version;
+        if ((effectiveVersion == null || effectiveVersion.isEmpty()) && parent != null) {
+            effectiveVersion = parent.version();
+        }
+
+        return new VersionedCoordinates(effectiveGroupId, artifactId, effectiveVersion);
+    }
+
+    public String groupId() {
+        return groupId;
+    }
+
+    public String artifactId() {
+        return artifactId;
+    }
+
+    public String version() {
+        return version;
+    }
+
+    /**
+     * @return declared packaging or {@code jar} when not declared
+     */
+    public String packaging() {
+        return packaging == null ? "jar" : packaging;
+    }
+
+    /**
+     * @return coordinates of the parent POM or {@code null} if the POM has no parent
+     */
+    public VersionedCoordinates parent() {
+        return parent;
+    }
+
+    public Map<String, String> properties() {
+        return properties;
+    }
+
+    public List<Dependency> dependencyManagement() {
+        return dependencyManagement;
+    }
+
+    public List<Dependency> dependencies() {
+        return dependencies;
+    }
+
+    /**
+     * @return GAVs of managed dependencies and dependencies as declared in the POM
+     */
+    public Stream<String> dependenciesGav() {
+        return Stream.concat(dependencyManagement.stream(), dependencies.stream())
+                .map(Dependency::toGav);
+    }
+
+    /**
+     * Write the summary in the binary form read by {@link #readFrom(DataInput)}.
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        writeNullableString(out, groupId);
+        writeNullableString(out, artifactId);
+        writeNullableString(out, version);
+        writeNullableString(out, packaging);
+        out.writeBoolean(parent != null);
+        if (parent != null) {
+            writeNullableString(out, parent.groupId());
+            writeNullableString(out, parent.artifactId());
+            writeNullableString(out, parent.version());
+        }
+        out.writeInt(properties.size());
+        for (Map.Entry<String, String> property : properties.entrySet()) {
+            writeNullableString(out, property.getKey());
+            writeNullableString(out, property.getValue());
+        }
+        writeDependencies(out, dependencyManagement);
+        writeDependencies(out, dependencies);
+    }
+
+    public static PomSummary readFrom(DataInput in) throws IOException {
+        String groupId = readNullableString(in);
+        String artifactId = readNullableString(in);
+        String version = readNullableString(in);
+        String packaging = readNullableString(in);
+        VersionedCoordinates parent = in.readBoolean()
+                ? new VersionedCoordinates(readNullableString(in), readNullableString(in), readNullableString(in))
+                : null;
+        int propertyCount = in.readInt();
+        Map<String, String> properties = new LinkedHashMap<>();
+        for (int i = 0; i < propertyCount; i++) {
+            properties.put(readNullableString(in), readNullableString(in));
+        }
+        List<Dependency> dependencyManagement = readDependencies(in);
+        List<Dependency> dependencies = readDependencies(in);
+        return new PomSummary(groupId, artifactId, version, packaging, parent, properties, dependencyManagement, dependencies);
+    }
+
+    private static void writeDependencies(DataOutput out, List<Dependency> dependencies) throws IOException {
+        out.writeInt(dependencies.size());
+        for (Dependency dependency : dependencies) {
+            writeNullableString(out, dependency.groupId);
+            writeNullableString(out, dependency.artifactId);
+            writeNullableString(out, dependency.version);
+            writeNullableString(out, dependency.type);
+            writeNullableString(out, dependency.classifier);
+            writeNullableString(out, dependency.scope);
+            out.writeBoolean(dependency.optional);
+        }
+    }
+
+    private static List<Dependency> readDependencies(DataInput in) throws IOException {
+        int count = in.readInt();
+        List<Dependency> dependencies = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            dependencies.add(new Dependency(readNullableString(in), readNullableString(in), readNullableString(in),
+                    readNullableString(in), readNullableString(in), readNullableString(in), in.readBoolean()));
+        }
+        return dependencies;
+    }
+
+    static void writeNullableString(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    static String readNullableString(DataInput in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String toString() {
+        return "POM summary of " + groupId + ":" + artifactId + ":" + version;
+    }
+
+    /**
+     * Dependency as declared in the POM, version may be missing or contain property references.
+     */
+    public static final class Dependency {
+        private final String groupId;
+        private final String artifactId;
+        private final String version;
+        private final String type;
+        private final String classifier;
+        private final String scope;
+        private final boolean optional;
+
+        public Dependency(String groupId, String artifactId, String version, String type, String classifier, String scope) {
+            this(groupId, artifactId, version, type, classifier, scope, false);
+        }
+
+        public Dependency(String groupId, String artifactId, String version, String type, String classifier, String scope,
+                boolean optional) {
+            this.groupId = groupId;
+            this.artifactId = artifactId;
+            this.version = version;
+            this.type = type;
+            this.classifier = classifier;
+            this.scope = scope;
+            this.optional = optional;
+        }
+
+        public String groupId() {
+            return groupId;
+        }
+
+        public String artifactId() {
+            return artifactId;
+        }
+
+        public String version() {
+            return version;
+        }
+
+        public String type() {
+            return type;
+        }
+
+        public String classifier() {
+            return classifier;
+        }
+
+        public String scope() {
+            return scope;
+        }
+
+        /**
+         * @return true if the dependency is declared as {@code <optional>true</optional>}
+         */
+        public boolean optional() {
+            return optional;
+        }
+
+        /**
+         * @return {@code groupId:artifactId:version}, the version part is empty when not declared
+         */
+        public String toGav() {
+            return String.format("%s:%s:%s", groupId, artifactId, version == null ? "" : version);
+        }
+
+        @Override
+        public String toString() {
+            return toGav();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (!(o instanceof Dependency)) {
+                return false;
+            }
+
+            Dependency that = (Dependency) o;
+            return Objects.equals(groupId, that.groupId) && Objects.equals(artifactId, that.artifactId)
+                    && Objects.equals(version, that.version) && Objects.equals(type, that.type)
+                    && Objects.equals(classifier, that.classifier) && Objects.equals(scope, that.scope)
+                    && optional == that.optional;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(groupId, artifactId, version, type, classifier, scope, optional);
+        }
+    }
+
+    /**
+     * Tracks the path of open elements and collects values of the elements we are interested in.
+     */
+    private static final class Parser {
+        private final List<String> path = new ArrayList<>();
+        private final StringBuilder text = new StringBuilder();
+
+        private String groupId;
+        private String artifactId;
+        private String version;
+        private String packaging;
+        private String parentGroupId;
+        private String parentArtifactId;
+        private String parentVersion;
+        private boolean hasParent;
+        private final Map<String, String> properties = new LinkedHashMap<>();
+        private final List<Dependency> dependencyManagement = new ArrayList<>();
+        private final List<Dependency> dependencies = new ArrayList<>();
+        private final Map<String, String> dependency = new LinkedHashMap<>();
+
+        private PomSummary parse(XMLStreamReader reader) throws XMLStreamException {
+            while (reader.hasNext()) {
+                switch (reader.next()) {
+                    case XMLStreamConstants.START_ELEMENT:
+                        path.add(reader.getLocalName());
+                        text.setLength(0);
+                        break;
+                    case XMLStreamConstants.CHARACTERS:
+                    case XMLStreamConstants.CDATA:
+                        text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                        break;
+                    case XMLStreamConstants.END_ELEMENT:
+                        endElement(text.toString().trim());
+                        path.remove(path.size() - 1);
+                        text.setLength(0);
+                        break;
+                    default:
+                        break;
+                }
+            }
+
+            // a parent without all its coordinates can't be looked up, it's treated as no parent
+            VersionedCoordinates parent = hasParent && isPresent(parentGroupId) && isPresent(parentArtifactId)
+                    && isPresent(parentVersion)
+                    ? new VersionedCoordinates(parentGroupId, parentArtifactId, parentVersion)
+                    : null;
+            return new PomSummary(groupId, artifactId, version, packaging, parent, properties, dependencyManagement,
+                    dependencies);
+        }
+
+        private void endElement(String value) {
+            int depth = path.size();
+            String name = path.get(depth - 1);
+            if (depth < 2 || !"project".equals(path.get(0))) {
+                return;
+            }
+
+            if (depth == 2) {
+                switch (name) {
+                    case "groupId":
+                        groupId = value;
+                        break;
+                    case "artifactId":
+                        artifactId = value;
+                        break;
+                    case "version":
+                        version = value;
+                        break;
+                    case "packaging":
+                        packaging = value;
+                        break;
+                    case "parent":
+                        hasParent = true;
+                        break;
+                    default:
+                        break;
+                }
+            } else if (depth == 3 && at("parent")) {
+                switch (name) {
+                    case "groupId":
+                        parentGroupId = value;
+                        break;
+                    case "artifactId":
+                        parentArtifactId = value;
+                        break;
+                    case "version":
+                        parentVersion = value;
+                        break;
+                    default:
+                        break;
+                }
+            } else if (depth == 3 && at("properties")) {
+                properties.put(name, value);
+            } else if (depth == 4 && at("dependencies", "dependency")) {
+                dependency.put(name, value);
+            } else if (depth == 3 && at("dependencies", "dependency")) {
+                dependencies.add(toDependency());
+            } else if (depth == 5 && at("dependencyManagement", "dependencies", "dependency")) {
+                dependency.put(name, value);
+            } else if (depth == 4 && at("dependencyManagement", "dependencies", "dependency")) {
+                dependencyManagement.add(toDependency());
+            }
+        }
+
+        /**
+         * @return true if the open elements below {@code project} start with given names
+         */
+        private boolean at(String... names) {
+            for (int i = 0; i < names.length; i++) {
+                if (!names[i].equals(path.get(i + 1))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private Dependency toDependency() {
+            Dependency result = new Dependency(dependency.get("groupId"), dependency.get("artifactId"),
+                    emptyToNull(dependency.get("version")), dependency.get("type"), dependency.get("classifier"),
+                    dependency.get("scope"), "true".equals(dependency.get("optional")));
+            dependency.clear();
+            return result;
+        }
+
+        private static boolean isPresent(String value) {
+            return value != null && !value.isEmpty();
+        }
+
+        private static String emptyToNull(String value) {
+            return value == null || value.isEmpty() ? null : value;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package io.quarkus.qe;
+
+import org.jboss.logging.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * On-disk cache of parsed POM summaries shared by consecutive diff-utils runs. Entries are keyed by the POM path
+ * relative to the repository root and are valid while the POM size and modification time are unchanged,
+ * or while its {@code .sha1} sidecar matches, so rebuilt repositories with the same artifacts hit the cache too.
+ * <p>
+ * Only the entries used by the last run are stored, the cache file location is set by
+ * the {@code quarkus.pom-cache.file} system property.
+ */
+public final class PomSummaryCache {
+    private static final Logger LOG = Logger.getLogger(PomSummaryCache.class);
+    private static final int FORMAT_VERSION = 3;
+    private static final String SHA1_EXTENSION = ".sha1";
+    private static final Path DEFAULT_CACHE_FILE = Paths.get(System.getProperty("java.io.tmpdir"), "diff-utils-pom-cache.bin");
+
+    private final Path cacheFile;
+    private final Map<String, Entry> storedEntries;
+    private final Map<String, Entry> usedEntries = new ConcurrentHashMap<>();
+    private final AtomicInteger parsed = new AtomicInteger();
+
+    private PomSummaryCache(Path cacheFile, Map<String, Entry> storedEntries) {
+        this.cacheFile = cacheFile;
+        this.storedEntries = storedEntries;
+    }
+
+    /**
+     * @return cache stored in the file set by the {@code quarkus.pom-cache.file} system property
+     * or in the default location in the temp directory
+     */
+    public static PomSummaryCache load() {
+        String cacheFile = System.getProperty("quarkus.pom-cache.file");
+        return load(cacheFile == null || cacheFile.isBlank() ? DEFAULT_CACHE_FILE : Paths.get(cacheFile));
+    }
+
+    public static PomSummaryCache load(Path cacheFile) {
+        Map<String, Entry> entries = new ConcurrentHashMap<>();
+        if (Files.isRegularFile(cacheFile)) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(cacheFile)))) {
+                if (in.readInt() == FORMAT_VERSION) {
+                    int count = in.readInt();
+                    for (int i = 0; i < count; i++) {
+                        String relativePath = in.readUTF();
+                        entries.put(relativePath, new Entry(in.readLong(), in.readLong(), PomSummary.readNullableString(in),
+                                PomSummary.readFrom(in)));
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                LOG.warnf("Ignoring unreadable POM cache %s: %s", cacheFile, e);
+                entries.clear();
+            }
+        }
+        LOG.debugf("Loaded %d cached POM summaries from %s", entries.size(), cacheFile);
+        return new PomSummaryCache(cacheFile, entries);
+    }
+
+    /**
+     * @return cached summary of the POM, the POM is parsed only if it isn't cached or has changed
+     */
+    public PomSummary summary(Artifact artifact) {
+        String relativePath = artifact.relativePath().toString();
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(artifact.file(), BasicFileAttributes.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read attributes of " + artifact, e);
+        }
+        long size = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+
+        Entry stored = storedEntries.get(relativePath);
+        Entry entry;
+        if (stored != null && stored.size == size && stored.lastModified == lastModified) {
+            entry = stored;
+        } else {
+            String sha1 = readSha1(artifact);
+            if (stored != null && stored.size == size && sha1 != null && sha1.equals(stored.sha1)) {
+                entry = new Entry(size, lastModified, sha1, stored.summary);
+            } else {
+                entry = new Entry(size, lastModified, sha1, artifact.asPom().summary());
+                parsed.incrementAndGet();
+            }
+        }
+        usedEntries.put(relativePath, entry);
+        return entry.summary;
+    }
+
+    /**
+     * @return cache for the next pass over the same repository in this process, the entries used since this cache
+     * was loaded become its stored entries, so the cache file doesn't have to be read again
+     */
+    public PomSummaryCache next() {
+        return new PomSummaryCache(cacheFile, new ConcurrentHashMap<>(usedEntries));
+    }
+
+    /**
+     * Replace the cache file with the entries used since the cache was loaded.
+     */
+    public void save() throws IOException {
+        LOG.infof("POM cache: %d hits, %d parsed, storing %d entries to %s", usedEntries.size() - parsed.get(), parsed.get(),
+                usedEntries.size(), cacheFile);
+        Path parent = cacheFile.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path tmpFile = Files.createTempFile(parent, cacheFile.getFileName().toString(), ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmpFile)))) {
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(usedEntries.size());
+            for (Map.Entry<String, Entry> usedEntry : usedEntries.entrySet()) {
+                Entry entry = usedEntry.getValue();
+                out.writeUTF(usedEntry.getKey());
+                out.writeLong(entry.size);
+                out.writeLong(entry.lastModified);
+                PomSummary.writeNullableString(out, entry.sha1);
+                entry.summary.writeTo(out);
+            }
+        }
+        Files.move(tmpFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String readSha1(Artifact artifact) {
+        Path sha1File = artifact.file().resolveSibling(artifact.baseFileName() + SHA1_EXTENSION);
+        if (!Files.isRegularFile(sha1File)) {
+            return null;
+        }
+        try {
+            String content = new String(Files.readAllBytes(sha1File), StandardCharsets.US_ASCII).trim();
+            int end = content.indexOf(' ');
+            return end < 0 ? content : content.substring(0, end);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static final class Entry {
+        private final long size;
+        private final long lastModified;
+        private final String sha1;
+        private final PomSummary summary;
+
+        private Entry(long size, long lastModified, String sha1, PomSummary summary) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.sha1 = sha1;
+            this.summary = Objects.requireNonNull(summary);
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package io.quarkus.qe;
+
+import org.jboss.logging.Logger;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Size and composition of a repository per {@code groupId} and per {@code groupId:artifactId}, computed from file
+ * attributes only, no file is opened. The repository is walked in parallel and the files are stat-ed in parallel.
+ * <p>
+ * The per-artifact sizes are stored as a snapshot, {@value #SNAPSHOT_FILE}. When the snapshot of a previous build is
+ * given, {@value #REPORT_FILE} lists the changes of the total size, of every group and the artifacts which grew most.
+ */
+public class RepositorySizeReport {
+    private static final Logger LOG = Logger.getLogger(RepositorySizeReport.class);
+    public static final String SNAPSHOT_FILE = "repository_size_snapshot.tsv";
+    public static final String REPORT_FILE = "repository_size_delta.txt";
+    private static final int DEFAULT_TOP_ARTIFACTS = 20;
+    // files outside version directories, e.g. maven-metadata.xml, are counted under this artifact ID of their group
+    private static final String OTHER_FILES = "-";
+
+    private final Path mavenRepoPath;
+    private final Path previousSnapshotPath;
+    private final int topArtifacts;
+
+    public RepositorySizeReport() {
+        mavenRepoPath = Paths.get(Objects.requireNonNull(System.getProperty("quarkus.maven.dir"),
+                "System property 'quarkus.maven.dir' expected"));
+        String previousSnapshot = System.getProperty("quarkus.repo-size.previous");
+        previousSnapshotPath = previousSnapshot == null || previousSnapshot.isBlank() ? null : Paths.get(previousSnapshot);
+        topArtifacts = Integer.getInteger("quarkus.repo-size.top", DEFAULT_TOP_ARTIFACTS);
+    }
+
+    public void writeToFile() throws IOException {
+        Path outputDir = Paths.get(System.getProperty("user.dir"));
+        Map<Coordinates, Size> current;
+        try (MavenRepo repo = MavenRepo.at(mavenRepoPath)) {
+            current = measure(repo);
+            LOG.infof("Measured %d artifacts of %s", current.size(), repo);
+        }
+        writeSnapshot(outputDir.resolve(SNAPSHOT_FILE), current);
+
+        Map<Coordinates, Size> previous = previousSnapshotPath == null ? new TreeMap<>(GavList.COORDINATES_ORDER)
+                : readSnapshot(previousSnapshotPath);
+        try (PrintWriter printWriter = new PrintWriter(Files.newBufferedWriter(outputDir.resolve(REPORT_FILE),
+                StandardCharsets.UTF_8))) {
+            writeDelta(printWriter, previous, current);
+        }
+    }
+
+    /**
+     * @return sizes per {@code groupId:artifactId}, sorted
+     */
+    static Map<Coordinates, Size> measure(MavenRepo repo) throws IOException {
+        List<FileSize> files;
+        try (Stream<Artifact> artifacts = repo.artifacts(MavenRepo.ALL_FILES)) {
+            files = artifacts.parallel().map(RepositorySizeReport::fileSize).collect(Collectors.toList());
+        }
+        Map<Coordinates, Size> sizes = new TreeMap<>(GavList.COORDINATES_ORDER);
+        for (FileSize file : files) {
+            sizes.computeIfAbsent(file.coordinates, coordinates -> new Size()).add(file);
+        }
+        return sizes;
+    }
+
+    private static FileSize fileSize(Artifact artifact) {
+        long size;
+        try {
+            size = Files.readAttributes(artifact.file(), BasicFileAttributes.class).size();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read attributes of " + artifact, e);
+        }
+        Path relativePath = artifact.relativePath();
+        Path versionDirectory = relativePath.getParent();
+        String artifactId = artifact.artifactIdInParentDirName();
+        String version = artifact.versionInParentDirName();
+        if (versionDirectory != null && versionDirectory.getNameCount() >= 3
+                && artifact.baseFileName().startsWith(artifactId + "-" + version)) {
+            return new FileSize(new Coordinates(groupId(versionDirectory.getParent().getParent()), artifactId), version, size);
+        }
+        Path groupDirectory = versionDirectory == null || versionDirectory.getNameCount() < 2 ? null
+                : versionDirectory.getParent();
+        return new FileSize(new Coordinates(groupDirectory == null ? OTHER_FILES : groupId(groupDirectory), OTHER_FILES),
+                null, size);
+    }
+
+    private static String groupId(Path groupDirectory) {
+        List<String> parts = new ArrayList<>();
+        groupDirectory.forEach(part -> parts.add(part.toString()));
+        return String.join(".", parts);
+    }
+
+    static void writeSnapshot(Path file, Map<Coordinates, Size> sizes) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (Map.Entry<Coordinates, Size> entry : sizes.entrySet()) {
+                Size size = entry.getValue();
+                writer.write(String.join("\t", entry.getKey().groupId(), entry.getKey().artifactId(),
+                        String.valueOf(size.versionCount), String.valueOf(size.files), String.valueOf(size.bytes)));
+                writer.newLine();
+            }
+        }
+    }
+
+    static Map<Coordinates, Size> readSnapshot(Path file) throws IOException {
+        Map<Coordinates, Size> sizes = new TreeMap<>(GavList.COORDINATES_ORDER);
+        try (Stream<String> lines = Files.lines(file, StandardCharsets.UTF_8)) {
+            lines.forEach(line -> {
+                String[] parts = line.split("\t");
+                if (parts.length != 5) {
+                    LOG.warnf("Skipping malformed snapshot line '%s'", line);
+                    return;
+                }
+                Size size = new Size();
+                size.versionCount = Integer.parseInt(parts[2]);
+                size.files = Long.parseLong(parts[3]);
+                size.bytes = Long.parseLong(parts[4]);
+                sizes.put(new Coordinates(parts[0], parts[1]), size);
+            });
+        }
+        return sizes;
+    }
+
+    private void writeDelta(PrintWriter writer, Map<Coordinates, Size> previous, Map<Coordinates, Size> current) {
+        Map<String, long[]> previousGroups = groups(previous);
+        Map<String, long[]> currentGroups = groups(current);
+        long[] previousTotal = total(previousGroups);
+        long[] currentTotal = total(currentGroups);
+        writer.printf("Total: %s, %d artifacts, %d versions, %d files%n", delta(previousTotal[2], currentTotal[2]),
+                currentTotal[0], currentTotal[1], currentTotal[3]);
+        writer.printf("  previous: %d bytes, %d artifacts, %d versions, %d files%n%n", previousTotal[2],
+                previousTotal[0], previousTotal[1], previousTotal[3]);
+
+        writer.printf("Groups by size change:%n");
+        Set<String> groupIds = new TreeSet<>(previousGroups.keySet());
+        groupIds.addAll(currentGroups.keySet());
+        groupIds.stream()
+                .filter(groupId -> !Arrays.equals(previousGroups.get(groupId), currentGroups.get(groupId)))
+                .sorted(Comparator.comparingLong((String groupId) -> -Math.abs(
+                        bytes(currentGroups.get(groupId)) - bytes(previousGroups.get(groupId))))
+                        .thenComparing(Comparator.naturalOrder()))
+                .forEach(groupId -> {
+                    long[] before = previousGroups.getOrDefault(groupId, new long[4]);
+                    long[] after = currentGroups.getOrDefault(groupId, new long[4]);
+                    writer.printf("  %s: %s, artifacts %d => %d, versions %d => %d%n", groupId,
+                            delta(before[2], after[2]), before[0], after[0], before[1], after[1]);
+                });
+
+        writer.printf("%nArtifacts which grew most:%n");
+        Set<Coordinates> coordinates = new HashSet<>(previous.keySet());
+        coordinates.addAll(current.keySet());
+        coordinates.stream()
+                .filter(ga -> !OTHER_FILES.equals(ga.artifactId()))
+                .filter(ga -> bytes(current.get(ga)) > bytes(previous.get(ga)))
+                .sorted(Comparator.comparingLong((Coordinates ga) -> bytes(previous.get(ga)) - bytes(current.get(ga)))
+                        .thenComparing(GavList.COORDINATES_ORDER))
+                .limit(topArtifacts)
+                .forEach(ga -> writer.printf("  %s: %s%s%n", ga, delta(bytes(previous.get(ga)), bytes(current.get(ga))),
+                        previous.containsKey(ga) ? "" : " (new)"));
+        LOG.infof("Repository size %s", delta(previousTotal[2], currentTotal[2]));
+    }
+
+    /**
+     * @return per group: artifacts, versions, bytes and files
+     */
+    private static Map<String, long[]> groups(Map<Coordinates, Size> sizes) {
+        Map<String, long[]> groups = new TreeMap<>();
+        sizes.forEach((coordinates, size) -> {
+            long[] group = groups.computeIfAbsent(coordinates.groupId(), groupId -> new long[4]);
+            if (!OTHER_FILES.equals(coordinates.artifactId())) {
+                group[0]++;
+            }
+            group[1] += size.versionCount();
+            group[2] += size.bytes;
+            group[3] += size.files;
+        });
+        return groups;
+    }
+
+    private static long[] total(Map<String, long[]> groups) {
+        long[] total = new long[4];
+        for (long[] group : groups.values()) {
+            for (int i = 0; i < total.length; i++) {
+                total[i] += group[i];
+            }
+        }
+        return total;
+    }
+
+    private static long bytes(long[] group) {
+        return group == null ? 0 : group[2];
+    }
+
+    private static long bytes(Size size) {
+        return size == null ? 0 : size.bytes;
+    }
+
+    private static String delta(long before, long after) {
+        return String.format("%d => %d bytes (%+d)", before, after, after - before);
+    }
+
+    private static final class FileSize {
+        private final Coordinates coordinates;
+        private final String version;
+        private final long bytes;
+
+        private FileSize(Coordinates coordinates, String version, long bytes) {
+            this.coordinates = coordinates;
+            this.version = version;
+            this.bytes = bytes;
+        }
+    }
+
+    /**
+     * Size of all versions of one artifact, versions are only known for a measured repository,
+     * a snapshot keeps their count.
+     */
+    static final class Size {
+        private final Set<String> versions = new HashSet<>();
+        private int versionCount;
+        private long files;
+        private long bytes;
+
+        private void add(FileSize file) {
+            if (file.version != null && versions.add(file.version)) {
+                versionCount++;
+            }
+            files++;
+            bytes += file.bytes;
+        }
+
+        int versionCount() {
+            return versionCount;
+        }
+    }
+}
@@ -0,0 +1,339 @@
+package io.quarkus.qe;
+
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Verifies a Maven repository before it is diffed: every file must match its {@code .sha1}, {@code .md5},
+ * {@code .sha256} and {@code .sha512} sidecars and every version directory must have a POM and, unless it is
+ * a {@code pom} packaging, the main artifact. Signatures and {@code maven-metadata*.xml} files are not required
+ * to have sidecars, they are not verified.
+ * <p>
+ * Files are hashed by a bounded pool of {@code quarkus.verify.threads} threads, each file is read once
+ * through a per-thread direct buffer and all its digests are updated from it. The hashed files and the read
+ * sidecars count to the {@code bytesRead} of the run metrics. Findings are written to {@value #REPORT_FILE}.
+ */
+public class RepositoryVerifier {
+    private static final Logger LOG = Logger.getLogger(RepositoryVerifier.class);
+    public static final String REPORT_FILE = "repository_verification.txt";
+
+    private static final Map<String, String> CHECKSUM_ALGORITHMS = new LinkedHashMap<>();
+    static {
+        CHECKSUM_ALGORITHMS.put(".sha1", "SHA-1");
+        CHECKSUM_ALGORITHMS.put(".md5", "MD5");
+        CHECKSUM_ALGORITHMS.put(".sha256", "SHA-256");
+        CHECKSUM_ALGORITHMS.put(".sha512", "SHA-512");
+    }
+    // local repository bookkeeping, not part of a published repository
+    private static final Set<String> IGNORED_FILES = Set.of("_remote.repositories", "resolver-status.properties");
+    private static final String IGNORED_EXTENSION = ".lastUpdated";
+    private static final String SIGNATURE_EXTENSION = ".asc";
+    // repository metadata is rewritten on every deploy, repository managers often serve it without sidecars
+    private static final String METADATA_PREFIX = "maven-metadata";
+    private static final String METADATA_EXTENSION = ".xml";
+    private static final String POM_EXTENSION = ".pom";
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final ThreadLocal<ByteBuffer> BUFFERS = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(BUFFER_SIZE));
+
+    public enum Problem {
+        CHECKSUM_MISMATCH,
+        MISSING_CHECKSUM,
+        ORPHAN_CHECKSUM,
+        MISSING_POM,
+        MISSING_ARTIFACT,
+        UNREADABLE
+    }
+
+    public static final class Finding {
+        private final Problem problem;
+        private final String path;
+        private final String detail;
+
+        Finding(Problem problem, String path, String detail) {
+            this.problem = problem;
+            this.path = path;
+            this.detail = detail;
+        }
+
+        public Problem problem() {
+            return problem;
+        }
+
+        public String path() {
+            return path;
+        }
+
+        public String detail() {
+            return detail;
+        }
+
+        @Override
+        public String toString() {
+            return detail.isEmpty() ? problem + "  " + path : problem + "  " + path + "  " + detail;
+        }
+    }
+
+    private final Path mavenRepoPath;
+    private final int threads;
+    private final AtomicLong hashedBytes = new AtomicLong();
+
+    public RepositoryVerifier() {
+        mavenRepoPath = Paths.get(Objects.requireNonNull(System.getProperty("quarkus.maven.dir"),
+                "System property 'quarkus.maven.dir' expected"));
+        threads = Integer.getInteger("quarkus.verify.threads", Runtime.getRuntime().availableProcessors());
+    }
+
+    public void writeToFile() throws IOException {
+        List<Finding> findings = verify();
+        Path reportFile = Paths.get(System.getProperty("user.dir"), REPORT_FILE);
+        try (PrintWriter printWriter = new PrintWriter(Files.newBufferedWriter(reportFile, StandardCharsets.UTF_8))) {
+            findings.forEach(printWriter::println);
+        }
+        if (findings.isEmpty()) {
+            LOG.infof("Repository %s verified, no problems found", mavenRepoPath);
+        } else {
+            LOG.warnf("Repository %s has %d problems, see %s", mavenRepoPath, findings.size(), reportFile);
+        }
+    }
+
+    /**
+     * @return problems found in the repository sorted by path
+     */
+    public List<Finding> verify() throws IOException {
+        long start = System.nanoTime();
+        List<Artifact> files;
+        try (MavenRepo repo = MavenRepo.at(mavenRepoPath)) {
+            try (Stream<Artifact> artifacts = repo.artifacts(MavenRepo.ALL_FILES)) {
+                files = artifacts.collect(Collectors.toList());
+            }
+            List<Finding> findings = verify(files);
+            long elapsedMillis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+            LOG.infof("Verified %d files, %d MB hashed in %d ms (%d MB/s) with %d threads", files.size(),
+                    hashedBytes.get() >> 20, elapsedMillis, (hashedBytes.get() >> 20) * 1000 / elapsedMillis, threads);
+            return findings;
+        }
+    }
+
+    private List<Finding> verify(List<Artifact> files) throws IOException {
+        Set<Path> paths = files.stream().map(Artifact::file).collect(Collectors.toCollection(HashSet::new));
+        List<Finding> findings = new ArrayList<>();
+        List<Artifact> contentFiles = new ArrayList<>();
+        for (Artifact file : files) {
+            String checksumExtension = checksumExtension(file.baseFileName());
+            if (checksumExtension != null) {
+                String baseName = file.baseFileName().substring(0, file.baseFileName().length() - checksumExtension.length());
+                if (!paths.contains(file.file().resolveSibling(baseName))) {
+                    findings.add(new Finding(Problem.ORPHAN_CHECKSUM, file.relativePath().toString(), ""));
+                }
+            } else if (!isIgnored(file.baseFileName()) && !isUnverified(file.baseFileName())) {
+                contentFiles.add(file);
+            }
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            findings.addAll(pool.submit(() -> contentFiles.parallelStream()
+                    .flatMap(file -> verifyChecksums(file, paths).stream())
+                    .collect(Collectors.toList())).get());
+            findings.addAll(pool.submit(() -> contentFiles.stream()
+                    .collect(Collectors.groupingBy(Artifact::directory, LinkedHashMap::new, Collectors.toList()))
+                    .values().parallelStream()
+                    .flatMap(directoryFiles -> verifyVersionDirectory(directoryFiles).stream())
+                    .collect(Collectors.toList())).get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Verification interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw new IllegalStateException("Verification failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+
+        findings.sort(Comparator.comparing(Finding::path).thenComparing(Finding::problem));
+        return findings;
+    }
+
+    private static String checksumExtension(String fileName) {
+        for (String extension : CHECKSUM_ALGORITHMS.keySet()) {
+            if (fileName.endsWith(extension)) {
+                return extension;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isIgnored(String fileName) {
+        return IGNORED_FILES.contains(fileName) || fileName.endsWith(IGNORED_EXTENSION);
+    }
+
+    /**
+     * Signatures and repository metadata, their sidecars are checked for orphans only.
+     */
+    private static boolean isUnverified(String fileName) {
+        return fileName.endsWith(SIGNATURE_EXTENSION)
+                || fileName.startsWith(METADATA_PREFIX) && fileName.endsWith(METADATA_EXTENSION);
+    }
+
+    /**
+     * Hash the file with the algorithms of all its sidecars in one read.
+     */
+    private List<Finding> verifyChecksums(Artifact file, Set<Path> paths) {
+        String relativePath = file.relativePath().toString();
+        Map<Path, MessageDigest> digests = new LinkedHashMap<>();
+        for (Map.Entry<String, String> checksum : CHECKSUM_ALGORITHMS.entrySet()) {
+            Path sidecar = file.file().resolveSibling(file.baseFileName() + checksum.getKey());
+            if (paths.contains(sidecar)) {
+                digests.put(sidecar, newDigest(checksum.getValue()));
+            }
+        }
+        if (digests.isEmpty()) {
+            return List.of(new Finding(Problem.MISSING_CHECKSUM, relativePath, ""));
+        }
+
+        List<Finding> findings = new ArrayList<>();
+        try {
+            hash(file.file(), digests.values());
+        } catch (IOException e) {
+            return List.of(new Finding(Problem.UNREADABLE, relativePath, e.toString()));
+        }
+        for (Map.Entry<Path, MessageDigest> digest : digests.entrySet()) {
+            String actual = toHex(digest.getValue().digest());
+            String expected;
+            try {
+                expected = readChecksum(digest.getKey());
+            } catch (IOException e) {
+                findings.add(new Finding(Problem.UNREADABLE,
+                        file.relativePath().resolveSibling(digest.getKey().getFileName().toString()).toString(), e.toString()));
+                continue;
+            }
+            if (!actual.equalsIgnoreCase(expected)) {
+                findings.add(new Finding(Problem.CHECKSUM_MISMATCH, relativePath,
+                        String.format("%s expected %s, actual %s", digest.getValue().getAlgorithm(), expected, actual)));
+            }
+        }
+        return findings;
+    }
+
+    private void hash(Path file, Iterable<MessageDigest> digests) throws IOException {
+        ByteBuffer buffer = BUFFERS.get();
+        try (SeekableByteChannel channel = Files.newByteChannel(file)) {
+            buffer.clear();
+            long fileBytes = 0;
+            int read;
+            while ((read = channel.read(buffer)) >= 0) {
+                if (read == 0 && buffer.hasRemaining()) {
+                    continue;
+                }
+                buffer.flip();
+                for (MessageDigest digest : digests) {
+                    buffer.rewind();
+                    digest.update(buffer);
+                }
+                fileBytes += buffer.limit();
+                buffer.clear();
+            }
+            hashedBytes.addAndGet(fileBytes);
+            RunMetrics.get().add(RunMetrics.Counter.BYTES_READ, fileBytes);
+        }
+    }
+
+    /**
+     * @return first token of the sidecar, some tools append the file name after the checksum
+     */
+    private static String readChecksum(Path sidecar) throws IOException {
+        String content = Files.readString(sidecar, StandardCharsets.US_ASCII);
+        RunMetrics.get().add(RunMetrics.Counter.BYTES_READ, content.length());
+        content = content.trim();
+        int whitespace = 0;
+        while (whitespace < content.length() && !Character.isWhitespace(content.charAt(whitespace))) {
+            whitespace++;
+        }
+        return content.substring(0, whitespace);
+    }
+
+    /**
+     * Files named {@code artifactId-version*} need the POM of the version and, unless the POM has {@code pom}
+     * packaging, the main artifact without classifier.
+     */
+    private static List<Finding> verifyVersionDirectory(List<Artifact> files) {
+        Artifact any = files.get(0);
+        String prefix = any.artifactIdInParentDirName() + "-" + any.versionInParentDirName();
+        List<Artifact> versionFiles = files.stream()
+                .filter(file -> file.baseFileName().startsWith(prefix + ".") || file.baseFileName().startsWith(prefix + "-"))
+                .collect(Collectors.toList());
+        if (versionFiles.isEmpty()) {
+            return List.of();
+        }
+
+        Artifact pom = null;
+        boolean mainArtifact = false;
+        for (Artifact file : versionFiles) {
+            String name = file.baseFileName();
+            if (name.equals(prefix + POM_EXTENSION)) {
+                pom = file;
+            } else if (name.startsWith(prefix + ".") && !name.endsWith(SIGNATURE_EXTENSION)) {
+                mainArtifact = true;
+            }
+        }
+        String directory = any.relativePath().getParent().toString();
+        if (pom == null) {
+            return List.of(new Finding(Problem.MISSING_POM, directory, prefix + POM_EXTENSION));
+        }
+        if (!mainArtifact) {
+            String packaging;
+            try {
+                packaging = pom.asPom().summary().packaging();
+            } catch (RuntimeException e) {
+                return List.of(new Finding(Problem.UNREADABLE, pom.relativePath().toString(), e.toString()));
+            }
+            if (!"pom".equals(packaging)) {
+                return List.of(new Finding(Problem.MISSING_ARTIFACT, directory,
+                        String.format("no main artifact of %s packaging", packaging)));
+            }
+        }
+        return List.of();
+    }
+
+    private static MessageDigest newDigest(String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+}
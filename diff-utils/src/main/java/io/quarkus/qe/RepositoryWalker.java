@@ -0,0 +1,107 @@
+package io.quarkus.qe;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Predicate;
+
+/**
+ * Walks a Maven repository laid out as {@code group/artifact/version/} directories. Every directory is listed
+ * by its own fork-join task, so top-level groups and their subtrees are walked in parallel.
+ * <p>
+ * Files inside a version directory are named {@code artifactId-version*}, these are recognized by name
+ * and never stat-ed unless the caller asked for them. Hidden files and directories are skipped.
+ */
+final class RepositoryWalker {
+    private static final String MAVEN_METADATA_PREFIX = "maven-metadata";
+
+    private final Predicate<String> fileNameFilter;
+
+    private RepositoryWalker(Predicate<String> fileNameFilter) {
+        this.fileNameFilter = fileNameFilter;
+    }
+
+    /**
+     * @param fileNameFilter accepts base names of the files to return
+     * @return sorted regular files under the root directory accepted by the filter
+     */
+    static List<Path> walk(Path rootDirectory, Predicate<String> fileNameFilter) throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        try {
+            List<Path> files = pool.invoke(new RepositoryWalker(fileNameFilter).new DirectoryTask(rootDirectory));
+            files.sort(null);
+            return files;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private final class DirectoryTask extends RecursiveTask<List<Path>> {
+        private final Path directory;
+
+        private DirectoryTask(Path directory) {
+            this.directory = directory;
+        }
+
+        @Override
+        protected List<Path> compute() {
+            List<Path> files = new ArrayList<>();
+            List<DirectoryTask> subdirectories = new ArrayList<>();
+            String artifactFilePrefix = artifactFilePrefix();
+            int visited = 0;
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+                for (Path entry : entries) {
+                    visited++;
+                    String name = entry.getFileName().toString();
+                    if (name.startsWith(".")) {
+                        continue;
+                    }
+                    if (isArtifactFile(name, artifactFilePrefix) || name.startsWith(MAVEN_METADATA_PREFIX)) {
+                        // artifact files of a version directory or metadata of an artifact directory
+                        if (fileNameFilter.test(name)) {
+                            files.add(entry);
+                        }
+                    } else if (Files.isDirectory(entry)) {
+                        subdirectories.add(new DirectoryTask(entry));
+                    } else if (fileNameFilter.test(name) && Files.isRegularFile(entry)) {
+                        files.add(entry);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            RunMetrics.get().add(RunMetrics.Counter.FILES_VISITED, visited);
+
+            for (DirectoryTask subdirectory : invokeAll(subdirectories)) {
+                files.addAll(subdirectory.join());
+            }
+            return files;
+        }
+
+        private boolean isArtifactFile(String name, String artifactFilePrefix) {
+            int prefixLength = artifactFilePrefix.length();
+            return name.length() > prefixLength && name.startsWith(artifactFilePrefix)
+                    && (name.charAt(prefixLength) == '.' || name.charAt(prefixLength) == '-')
+                    && name.indexOf('.', prefixLength) > 0;
+        }
+
+        /**
+         * @return prefix of artifact file names if this is a version directory, i.e. {@code artifactId-version}
+         */
+        private String artifactFilePrefix() {
+            Path artifactDirectory = directory.getParent();
+            if (artifactDirectory == null || artifactDirectory.getFileName() == null || directory.getFileName() == null) {
+                return "/";
+            }
+            return artifactDirectory.getFileName() + "-" + directory.getFileName();
+        }
+    }
+}
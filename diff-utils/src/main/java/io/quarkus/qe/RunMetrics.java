@@ -0,0 +1,165 @@
+package io.quarkus.qe;
+
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Phase timers and counters of one diff-utils run. The counters are updated from the parallel walkers and parsers,
+ * so they are {@link LongAdder}s shared through a single process wide instance. Phases are timed by wall clock
+ * and can be entered several times, e.g. the repository is walked for the fingerprint and for the index.
+ */
+public final class RunMetrics {
+    private static final Logger LOG = Logger.getLogger(RunMetrics.class);
+    private static final RunMetrics INSTANCE = new RunMetrics();
+
+    public enum Counter {
+        FILES_VISITED("filesVisited"),
+        POMS_PARSED("pomsParsed"),
+        PARSE_FAILURES("parseFailures"),
+        DEPENDENCIES_EXTRACTED("dependenciesExtracted"),
+        BYTES_READ("bytesRead");
+
+        private final String jsonName;
+
+        Counter(String jsonName) {
+            this.jsonName = jsonName;
+        }
+    }
+
+    private final long startNanos = System.nanoTime();
+    private final Map<Counter, LongAdder> counters = new EnumMap<>(Counter.class);
+    // phase name to total nanos and number of runs, in the order the phases were first entered
+    private final Map<String, long[]> phases = new LinkedHashMap<>();
+    private ScheduledExecutorService progressLogger;
+
+    private RunMetrics() {
+        for (Counter counter : Counter.values()) {
+            counters.put(counter, new LongAdder());
+        }
+    }
+
+    public static RunMetrics get() {
+        return INSTANCE;
+    }
+
+    public void increment(Counter counter) {
+        counters.get(counter).increment();
+    }
+
+    public void add(Counter counter, long value) {
+        counters.get(counter).add(value);
+    }
+
+    public long count(Counter counter) {
+        return counters.get(counter).sum();
+    }
+
+    /**
+     * @return timer of the phase, stopped by closing it
+     */
+    public Phase phase(String name) {
+        return new Phase(name);
+    }
+
+    /**
+     * Log the counters every {@code intervalSeconds} until {@link #stopProgressLogging()} is called.
+     */
+    public synchronized void startProgressLogging(int intervalSeconds) {
+        if (progressLogger != null || intervalSeconds <= 0) {
+            return;
+        }
+        progressLogger = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "diff-utils-progress");
+            thread.setDaemon(true);
+            return thread;
+        });
+        String[] lastLogged = { "" };
+        progressLogger.scheduleAtFixedRate(() -> {
+            String counters = countersText();
+            // idle phases like writing reports or serving queries are not logged again and again
+            if (!counters.equals(lastLogged[0])) {
+                LOG.infof("Progress after %d s: %s", TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startNanos),
+                        counters);
+                lastLogged[0] = counters;
+            }
+        }, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    public synchronized void stopProgressLogging() {
+        if (progressLogger != null) {
+            progressLogger.shutdownNow();
+            progressLogger = null;
+        }
+    }
+
+    /**
+     * @return summary like {@code {"elapsedMillis":1200,"phases":{"walk":{"count":1,"millis":300}},"counters":{...}}}
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder("{\"elapsedMillis\":")
+                .append(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos))
+                .append(",\"phases\":{");
+        synchronized (phases) {
+            String separator = "";
+            for (Map.Entry<String, long[]> phase : phases.entrySet()) {
+                json.append(separator).append(Json.quote(phase.getKey()))
+                        .append(":{\"count\":").append(phase.getValue()[1])
+                        .append(",\"millis\":").append(TimeUnit.NANOSECONDS.toMillis(phase.getValue()[0])).append('}');
+                separator = ",";
+            }
+        }
+        json.append("},\"counters\":{");
+        String separator = "";
+        for (Counter counter : Counter.values()) {
+            json.append(separator).append(Json.quote(counter.jsonName)).append(':').append(count(counter));
+            separator = ",";
+        }
+        return json.append("}}").toString();
+    }
+
+    public void writeToFile(Path file) throws IOException {
+        String json = toJson();
+        Files.write(file, (json + System.lineSeparator()).getBytes(StandardCharsets.UTF_8));
+        LOG.infof("Run metrics: %s", json);
+    }
+
+    private String countersText() {
+        StringBuilder text = new StringBuilder();
+        for (Counter counter : Counter.values()) {
+            text.append(text.length() == 0 ? "" : ", ").append(counter.jsonName).append('=').append(count(counter));
+        }
+        return text.toString();
+    }
+
+    public final class Phase implements AutoCloseable {
+        private final String name;
+        private final long start = System.nanoTime();
+
+        private Phase(String name) {
+            this.name = name;
+            LOG.debugf("Phase %s started", name);
+        }
+
+        @Override
+        public void close() {
+            long nanos = System.nanoTime() - start;
+            synchronized (phases) {
+                long[] total = phases.computeIfAbsent(name, key -> new long[2]);
+                total[0] += nanos;
+                total[1]++;
+            }
+            LOG.debugf("Phase %s took %d ms", name, TimeUnit.NANOSECONDS.toMillis(nanos));
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package io.quarkus.qe;
+
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DependencyGraphTest {
+
+    @Test
+    public void cycleMembersAreDependentsOfEachOther() {
+        // a <- b <- c <- a, and d depends on c
+        int[][] dependents = { { 1 }, { 2 }, { 0, 3 }, {} };
+        DependencyGraph graph = graph(dependents, DependencyGraph.DEFAULT_MEMO_ENTRIES);
+
+        assertEquals(List.of(node(1), node(2), node(3)), graph.dependentsClosure(node(0)).dependents());
+        assertEquals(List.of(node(2), node(0), node(3)), graph.dependentsClosure(node(1)).dependents());
+        assertEquals(List.of(node(3), node(2), node(1)), graph.dependentsClosure(node(1)).shortestPath(node(3)));
+        assertEquals(List.of(), graph.dependentsClosure(node(3)).dependents());
+        assertEquals(List.of(), graph.dependentsClosure(new Coordinates("org.acme", "unknown")).dependents());
+    }
+
+    @Test
+    public void sharedDependentsGiveShortestPaths() {
+        // both a and b are used by c, c is used by d directly and through e
+        int[][] dependents = { { 2 }, { 2, 4 }, { 3, 4 }, {}, { 3 } };
+        DependencyGraph graph = graph(dependents, DependencyGraph.DEFAULT_MEMO_ENTRIES);
+
+        assertEquals(List.of(node(3), node(2), node(0)), graph.dependentsClosure(node(0)).shortestPath(node(3)));
+        assertEquals(List.of(node(4), node(1)), graph.dependentsClosure(node(1)).shortestPath(node(4)));
+        // through c or through e, both are two hops away
+        assertEquals(3, graph.dependentsClosure(node(1)).shortestPath(node(3)).size());
+    }
+
+    @Test
+    public void randomGraphsMatchBreadthFirstSearch() {
+        Random random = new Random(42);
+        for (int i = 0; i < 200; i++) {
+            int size = 1 + random.nextInt(40);
+            // sparse graphs are mostly acyclic, dense ones are mostly a few large cycles
+            double density = (i % 3 + 1) * 1.5 / size;
+            int[][] dependents = new int[size][];
+            for (int node = 0; node < size; node++) {
+                List<Integer> nodeDependents = new ArrayList<>();
+                for (int dependent = 0; dependent < size; dependent++) {
+                    if (dependent != node && random.nextDouble() < density) {
+                        nodeDependents.add(dependent);
+                    }
+                }
+                dependents[node] = nodeDependents.stream().mapToInt(Integer::intValue).toArray();
+            }
+            // a memo of a few entries evicts most closures and recomputes them
+            assertClosures(dependents, graph(dependents, DependencyGraph.DEFAULT_MEMO_ENTRIES), random);
+            assertClosures(dependents, graph(dependents, 64), random);
+        }
+    }
+
+    private static void assertClosures(int[][] dependents, DependencyGraph graph, Random random) {
+        for (int target : shuffledNodes(dependents.length, random)) {
+            int[] distances = distances(dependents, target);
+            DependencyGraph.Closure closure = graph.dependentsClosure(node(target));
+            List<Coordinates> expected = new ArrayList<>();
+            for (int node = 0; node < dependents.length; node++) {
+                if (node != target && distances[node] > 0) {
+                    expected.add(node(node));
+                }
+            }
+            List<Coordinates> actual = closure.dependents();
+            assertEquals("dependents of " + target, expected.size(), actual.size());
+            assertTrue("dependents of " + target, actual.containsAll(expected));
+            int previousDistance = 0;
+            for (Coordinates dependent : actual) {
+                int distance = distances[id(dependent)];
+                assertTrue("direct dependents first", distance >= previousDistance);
+                previousDistance = distance;
+
+                List<Coordinates> path = closure.shortestPath(dependent);
+                assertEquals("path " + path + " to " + target, distance + 1, path.size());
+                assertEquals(dependent, path.get(0));
+                assertEquals(node(target), path.get(path.size() - 1));
+                for (int step = 0; step + 1 < path.size(); step++) {
+                    int dependency = id(path.get(step + 1));
+                    int pathDependent = id(path.get(step));
+                    assertTrue("path " + path + " follows the edges",
+                            Arrays.stream(dependents[dependency]).anyMatch(node -> node == pathDependent));
+                }
+                assertEquals(path.size(), graph.shortestPath(node(target), dependent).size());
+            }
+        }
+    }
+
+    /**
+     * @return breadth-first distance of every node from the target, -1 if the node doesn't reach it
+     */
+    private static int[] distances(int[][] dependents, int target) {
+        int[] distances = new int[dependents.length];
+        Arrays.fill(distances, -1);
+        distances[target] = 0;
+        Deque<Integer> queue = new ArrayDeque<>(List.of(target));
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (int dependent : dependents[node]) {
+                if (distances[dependent] < 0) {
+                    distances[dependent] = distances[node] + 1;
+                    queue.add(dependent);
+                }
+            }
+        }
+        return distances;
+    }
+
+    private static List<Integer> shuffledNodes(int size, Random random) {
+        List<Integer> nodes = new ArrayList<>();
+        for (int node = 0; node < size; node++) {
+            nodes.add(node);
+        }
+        Collections.shuffle(nodes, random);
+        return nodes;
+    }
+
+    /**
+     * @param dependents direct dependents of every node, one edge per dependent
+     */
+    private static DependencyGraph graph(int[][] dependents, int memoEntries) {
+        int[] edgesStart = new int[dependents.length + 1];
+        List<Integer> edges = new ArrayList<>();
+        for (int node = 0; node < dependents.length; node++) {
+            edgesStart[node] = edges.size();
+            Arrays.stream(dependents[node]).forEach(edges::add);
+        }
+        edgesStart[dependents.length] = edges.size();
+        Map<Coordinates, Integer> ids = new HashMap<>();
+        for (int node = 0; node < dependents.length; node++) {
+            ids.put(node(node), node);
+        }
+        return DependencyGraph.of(dependents.length, DependencyGraphTest::node,
+                coordinates -> ids.getOrDefault(coordinates, CoordinatePool.MISSING),
+                node -> edgesStart[node], node -> edgesStart[node + 1], edges::get, edge -> true, memoEntries);
+    }
+
+    private static Coordinates node(int id) {
+        return new Coordinates("org.acme", "node" + id);
+    }
+
+    private static int id(Coordinates coordinates) {
+        return Integer.parseInt(coordinates.artifactId().substring("node".length()));
+    }
+}
@@ -0,0 +1,95 @@
+package io.quarkus.qe;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class EffectivePomResolverTest {
+
+    private static final PomSummary PARENT = pom("<groupId>org.acme</groupId><artifactId>parent</artifactId>"
+            + "<version>1</version><packaging>pom</packaging>"
+            + "<dependencyManagement><dependencies>"
+            + managed("org.acme", "parent-bom", "1", "pom", "import")
+            + managed("org.lib", "declared-by-parent", "3.0", null, null)
+            + "</dependencies></dependencyManagement>");
+
+    private static final PomSummary PARENT_BOM = pom("<groupId>org.acme</groupId><artifactId>parent-bom</artifactId>"
+            + "<version>1</version><packaging>pom</packaging>"
+            + "<properties><conflict.version>1.0</conflict.version></properties>"
+            + "<dependencyManagement><dependencies>"
+            + managed("org.lib", "conflict", "${conflict.version}", null, null)
+            + managed("org.lib", "only-in-parent-bom", "5.0", null, null)
+            + managed("org.lib", "declared-by-parent", "3.1", null, null)
+            + "</dependencies></dependencyManagement>");
+
+    private static final PomSummary CHILD_BOM = pom("<groupId>org.acme</groupId><artifactId>child-bom</artifactId>"
+            + "<version>1</version><packaging>pom</packaging>"
+            + "<properties><conflict.version>2.0</conflict.version></properties>"
+            + "<dependencyManagement><dependencies>"
+            + managed("org.lib", "conflict", "${conflict.version}", null, null)
+            + managed("org.lib", "declared-by-parent", "3.2", null, null)
+            + "</dependencies></dependencyManagement>");
+
+    private static final PomSummary CHILD = pom("<parent><groupId>org.acme</groupId><artifactId>parent</artifactId>"
+            + "<version>1</version></parent><artifactId>child</artifactId>"
+            + "<dependencyManagement><dependencies>"
+            + managed("org.acme", "child-bom", "${project.version}", "pom", "import")
+            + "</dependencies></dependencyManagement>"
+            + "<dependencies>"
+            + dependency("conflict") + dependency("declared-by-parent") + dependency("only-in-parent-bom")
+            + dependency("unmanaged")
+            + "</dependencies>");
+
+    @Test
+    public void ownImportWinsOverImportInheritedFromParent() {
+        assertEquals("2.0", resolvedVersions().get("org.lib:conflict"));
+    }
+
+    @Test
+    public void inheritedDeclarationWinsOverOwnImport() {
+        assertEquals("3.0", resolvedVersions().get("org.lib:declared-by-parent"));
+    }
+
+    @Test
+    public void importInheritedFromParentAddsMissingEntries() {
+        assertEquals("5.0", resolvedVersions().get("org.lib:only-in-parent-bom"));
+    }
+
+    @Test
+    public void unmanagedDependencyKeepsNoVersion() {
+        assertNull(resolvedVersions().get("org.lib:unmanaged"));
+    }
+
+    private static Map<String, String> resolvedVersions() {
+        EffectivePomResolver resolver = new EffectivePomResolver(List.of(PARENT, PARENT_BOM, CHILD_BOM, CHILD));
+        Map<String, String> versions = new HashMap<>();
+        for (PomSummary.Dependency dependency : resolver.resolve(CHILD).dependencies()) {
+            versions.put(dependency.groupId() + ":" + dependency.artifactId(), dependency.version());
+        }
+        return versions;
+    }
+
+    private static String managed(String groupId, String artifactId, String version, String type, String scope) {
+        return "<dependency><groupId>" + groupId + "</groupId><artifactId>" + artifactId + "</artifactId>"
+                + "<version>" + version + "</version>"
+                + (type == null ? "" : "<type>" + type + "</type>")
+                + (scope == null ? "" : "<scope>" + scope + "</scope>")
+                + "</dependency>";
+    }
+
+    private static String dependency(String artifactId) {
+        return "<dependency><groupId>org.lib</groupId><artifactId>" + artifactId + "</artifactId></dependency>";
+    }
+
+    private static PomSummary pom(String content) {
+        String xml = "<project><modelVersion>4.0.0</modelVersion>" + content + "</project>";
+        return PomSummary.read(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)), "test POM");
+    }
+}
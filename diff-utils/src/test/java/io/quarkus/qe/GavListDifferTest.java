@@ -0,0 +1,65 @@
+package io.quarkus.qe;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class GavListDifferTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void everyCategoryIsWritten() throws IOException {
+        Path directory = diff(List.of("org.acme:same:1.0", "org.acme:up:1.0", "org.acme:down:2.0", "org.acme:gone:1.0",
+                        "org.acme:multi:1.0"),
+                List.of("org.acme:same:1.0", "org.acme:up:1.1", "org.acme:down:1.9", "org.acme:new:1.0",
+                        "org.acme:multi:1.0", "org.acme:multi:2.0"));
+
+        assertEquals(List.of("org.acme:same - 1.0  => 1.0  ::  IDENTICAL"), lines(directory, "artifacts_new_IDENTICAL.txt"));
+        assertEquals(List.of("org.acme:up - 1.0  => 1.1  ::  UPGRADED"), lines(directory, "artifacts_new_UPGRADED.txt"));
+        assertEquals(List.of("org.acme:down - 2.0  => 1.9  ::  DOWNGRADED"),
+                lines(directory, "artifacts_new_DOWNGRADED.txt"));
+        assertEquals(List.of("org.acme:gone - 1.0  ::  REMOVED"), lines(directory, "artifacts_new_REMOVED.txt"));
+        assertEquals(List.of("org.acme:new - 1.0  ::  ADDED"), lines(directory, "artifacts_new_ADDED.txt"));
+        assertEquals(List.of("org.acme:new"), lines(directory, GavListDiffer.ADDED_ARTIFACTS_LIST));
+        assertEquals(List.of("org.acme:multi"), lines(directory, "artifacts_new_MULTIPLE.txt"));
+        assertEquals(List.of("org.acme:multi:1.0"), lines(directory, "artifacts_old_MULTIPLE_DETAILS.txt"));
+        assertEquals(List.of("org.acme:multi:1.0", "org.acme:multi:2.0"),
+                lines(directory, "artifacts_new_MULTIPLE_DETAILS.txt"));
+    }
+
+    @Test
+    public void emptyCategoriesGiveEmptyFiles() throws IOException {
+        Path directory = diff(List.of("org.acme:up:1.0"), List.of("org.acme:up:1.1"));
+
+        assertEquals(List.of("org.acme:up - 1.0  => 1.1  ::  UPGRADED"), lines(directory, "artifacts_new_UPGRADED.txt"));
+        // read by the added-artifacts runs and the HTML diff of diff-gav-artifact.sh
+        for (String file : List.of("artifacts_new_IDENTICAL.txt", "artifacts_new_DOWNGRADED.txt",
+                "artifacts_new_REMOVED.txt", "artifacts_new_ADDED.txt", "artifacts_new_MULTIPLE.txt",
+                GavListDiffer.ADDED_ARTIFACTS_LIST, "artifacts_old_MULTIPLE_DETAILS.txt",
+                "artifacts_new_MULTIPLE_DETAILS.txt")) {
+            assertEquals(file, List.of(), lines(directory, file));
+        }
+    }
+
+    private Path diff(List<String> oldList, List<String> newList) throws IOException {
+        Path oldFile = Files.write(temporaryFolder.newFile("old.txt").toPath(), oldList, StandardCharsets.UTF_8);
+        Path newFile = Files.write(temporaryFolder.newFile("new.txt").toPath(), newList, StandardCharsets.UTF_8);
+        Path directory = temporaryFolder.newFolder("output").toPath();
+        new GavListDiffer(oldFile, "old", newFile, "new").writeToFiles(directory);
+        return directory;
+    }
+
+    private static List<String> lines(Path directory, String file) throws IOException {
+        return Files.readAllLines(directory.resolve(file), StandardCharsets.UTF_8);
+    }
+}
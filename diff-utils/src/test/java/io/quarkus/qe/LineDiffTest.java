@@ -0,0 +1,145 @@
+package io.quarkus.qe;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LineDiffTest {
+
+    @Test
+    public void emptyTexts() {
+        assertEquals(List.of(), LineDiff.compute(List.of(), List.of()));
+        assertDiff(List.of(), List.of("a", "b"));
+        assertDiff(List.of("a", "b"), List.of());
+    }
+
+    @Test
+    public void identicalTexts() {
+        List<String> text = List.of("a", "b", "a", "c");
+        assertEquals(List.of(new LineDiff.Hunk(LineDiff.Type.EQUAL, 0, 4, 0, 4)), LineDiff.compute(text, text));
+    }
+
+    @Test
+    public void disjointTexts() {
+        assertEquals(List.of(new LineDiff.Hunk(LineDiff.Type.CHANGE, 0, 2, 0, 3)),
+                LineDiff.compute(List.of("a", "b"), List.of("c", "d", "e")));
+    }
+
+    @Test
+    public void repeatedLines() {
+        assertDiff(List.of("a", "a", "a", "a"), List.of("a", "a"));
+        assertDiff(List.of("a", "b", "a", "b", "a"), List.of("b", "a", "b", "a", "b"));
+        assertDiff(Collections.nCopies(50, "x"), Collections.nCopies(70, "x"));
+    }
+
+    @Test
+    public void addedAndRemovedLines() {
+        assertEquals(List.of(
+                new LineDiff.Hunk(LineDiff.Type.EQUAL, 0, 1, 0, 1),
+                new LineDiff.Hunk(LineDiff.Type.DELETE, 1, 2, 1, 1),
+                new LineDiff.Hunk(LineDiff.Type.EQUAL, 2, 3, 1, 2),
+                new LineDiff.Hunk(LineDiff.Type.INSERT, 3, 3, 2, 3)),
+                LineDiff.compute(List.of("a", "b", "c"), List.of("a", "c", "d")));
+    }
+
+    @Test
+    public void randomTexts() {
+        Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            // small alphabets give many repeated lines and long common subsequences
+            int alphabet = 1 + random.nextInt(i % 2 == 0 ? 3 : 12);
+            assertDiff(randomText(random, alphabet, random.nextInt(40)), randomText(random, alphabet, random.nextInt(40)));
+        }
+    }
+
+    @Test
+    public void randomEditsOfText() {
+        Random random = new Random(7);
+        for (int i = 0; i < 500; i++) {
+            List<String> oldText = randomText(random, 20, 50 + random.nextInt(150));
+            List<String> newText = new ArrayList<>(oldText);
+            for (int edit = random.nextInt(10); edit > 0; edit--) {
+                int index = random.nextInt(newText.size() + 1);
+                switch (random.nextInt(3)) {
+                    case 0:
+                        newText.add(index, "new" + random.nextInt(5));
+                        break;
+                    case 1:
+                        if (index < newText.size()) {
+                            newText.remove(index);
+                        }
+                        break;
+                    default:
+                        if (index < newText.size()) {
+                            newText.set(index, "line" + random.nextInt(20));
+                        }
+                }
+            }
+            assertDiff(oldText, newText);
+        }
+    }
+
+    /**
+     * Checks the hunks rebuild both texts and their equal lines form a longest common subsequence.
+     */
+    private static void assertDiff(List<String> oldText, List<String> newText) {
+        List<LineDiff.Hunk> hunks = LineDiff.compute(oldText, newText);
+        String message = oldText + " -> " + newText + ": " + hunks;
+        List<String> rebuiltOld = new ArrayList<>();
+        List<String> rebuiltNew = new ArrayList<>();
+        int equalLines = 0;
+        LineDiff.Hunk previous = null;
+        for (LineDiff.Hunk hunk : hunks) {
+            assertEquals(message, previous == null ? 0 : previous.oldEnd(), hunk.oldStart());
+            assertEquals(message, previous == null ? 0 : previous.newEnd(), hunk.newStart());
+            assertTrue(message, hunk.oldLength() > 0 || hunk.newLength() > 0);
+            assertEquals(message, expectedType(hunk), hunk.type());
+            List<String> oldLines = oldText.subList(hunk.oldStart(), hunk.oldEnd());
+            List<String> newLines = newText.subList(hunk.newStart(), hunk.newEnd());
+            if (hunk.type() == LineDiff.Type.EQUAL) {
+                assertEquals(message, oldLines, newLines);
+                equalLines += hunk.oldLength();
+            }
+            rebuiltOld.addAll(oldLines);
+            rebuiltNew.addAll(newLines);
+            previous = hunk;
+        }
+        assertEquals(message, oldText, rebuiltOld);
+        assertEquals(message, newText, rebuiltNew);
+        assertEquals(message, longestCommonSubsequence(oldText, newText), equalLines);
+    }
+
+    private static LineDiff.Type expectedType(LineDiff.Hunk hunk) {
+        if (hunk.type() == LineDiff.Type.EQUAL) {
+            return LineDiff.Type.EQUAL;
+        }
+        return hunk.oldLength() == 0 ? LineDiff.Type.INSERT
+                : hunk.newLength() == 0 ? LineDiff.Type.DELETE : LineDiff.Type.CHANGE;
+    }
+
+    private static int longestCommonSubsequence(List<String> oldText, List<String> newText) {
+        int[][] lengths = new int[oldText.size() + 1][newText.size() + 1];
+        for (int i = oldText.size() - 1; i >= 0; i--) {
+            for (int j = newText.size() - 1; j >= 0; j--) {
+                lengths[i][j] = oldText.get(i).equals(newText.get(j))
+                        ? lengths[i + 1][j + 1] + 1
+                        : Math.max(lengths[i + 1][j], lengths[i][j + 1]);
+            }
+        }
+        return lengths[0][0];
+    }
+
+    private static List<String> randomText(Random random, int alphabet, int length) {
+        List<String> text = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            text.add("line" + random.nextInt(alphabet));
+        }
+        return text;
+    }
+}
@@ -0,0 +1,122 @@
+package io.quarkus.qe;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class MappedDependencyIndexTest {
+
+    private static final String FINGERPRINT = "0123456789abcdef";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void reopenedIndexAnswersSameQueries() throws IOException {
+        DependencyIndex index = index();
+        Path file = temporaryFolder.getRoot().toPath().resolve("index.bin");
+        MappedDependencyIndex.write(index, file, FINGERPRINT);
+        MappedDependencyIndex mapped = MappedDependencyIndex.open(file);
+
+        assertEquals(FINGERPRINT, mapped.fingerprint());
+        assertEquals(index.coordinates(), mapped.coordinates());
+        // sorted by unsigned UTF-8 bytes, upper case before lower case and non-ASCII last
+        assertEquals(List.of(new Coordinates("org.Acme", "upper"), new Coordinates("org.acme", "app"),
+                new Coordinates("org.acme", "core"), new Coordinates("org.acme", "plugin"),
+                new Coordinates("org.acme", "zeta"),
+                new Coordinates("org.élève", "café")), new ArrayList<>(mapped.coordinates()));
+        List<Coordinates> queried = new ArrayList<>(index.coordinates());
+        // declared only as dependencies or not present at all
+        queried.add(new Coordinates("org.lib", "external"));
+        queried.add(new Coordinates("org.lib", "unknown"));
+        queried.add(new Coordinates("org.lib.zzz", "a"));
+        DependencyGraph graph = DependencyGraph.of(index);
+        DependencyGraph mappedGraph = DependencyGraph.of(mapped);
+        for (Coordinates coordinates : queried) {
+            assertEquals("versions of " + coordinates, index.versions(coordinates), mapped.versions(coordinates));
+            assertEquals("dependents of " + coordinates, index.dependents(coordinates), mapped.dependents(coordinates));
+            // transitive flags of the edges survive the round trip
+            assertEquals("transitive dependents of " + coordinates,
+                    new HashSet<>(graph.dependentsClosure(coordinates).dependents()),
+                    new HashSet<>(mappedGraph.dependentsClosure(coordinates).dependents()));
+        }
+        // zeta uses core in provided scope and plugin as an optional dependency
+        assertEquals(List.of(new Coordinates("org.acme", "app")),
+                mappedGraph.dependentsClosure(new Coordinates("org.acme", "core")).dependents());
+        assertTrue(mapped.versions(new Coordinates("org.élève", "café")).contains("1.0"));
+        assertEquals(2, mapped.dependents(new Coordinates("org.lib", "external")).size());
+    }
+
+    @Test
+    public void staleFingerprintIsNotReused() throws IOException {
+        Path file = temporaryFolder.getRoot().toPath().resolve("index.bin");
+        MappedDependencyIndex.write(index(), file, FINGERPRINT);
+
+        assertNotNull(MappedDependencyIndex.openIfCurrent(file, FINGERPRINT));
+        assertNull(MappedDependencyIndex.openIfCurrent(file, "fedcba9876543210"));
+    }
+
+    @Test
+    public void missingOrCorruptedFileIsNotReused() throws IOException {
+        Path file = temporaryFolder.getRoot().toPath().resolve("index.bin");
+        assertNull(MappedDependencyIndex.openIfCurrent(file, FINGERPRINT));
+
+        Files.write(file, "not an index".getBytes(StandardCharsets.UTF_8));
+        assertNull(MappedDependencyIndex.openIfCurrent(file, FINGERPRINT));
+    }
+
+    @Test
+    public void rewrittenIndexReplacesPreviousOne() throws IOException {
+        Path file = temporaryFolder.getRoot().toPath().resolve("index.bin");
+        MappedDependencyIndex.write(DependencyIndex.of(List.of(pom("org.acme", "single", "1", ""))), file, "old");
+        MappedDependencyIndex.write(index(), file, FINGERPRINT);
+
+        MappedDependencyIndex mapped = MappedDependencyIndex.openIfCurrent(file, FINGERPRINT);
+        assertNotNull(mapped);
+        assertEquals(index().coordinates(), mapped.coordinates());
+    }
+
+    /**
+     * Group and artifact IDs with non-ASCII characters are sorted by their unsigned UTF-8 bytes in the file.
+     */
+    private static DependencyIndex index() {
+        return DependencyIndex.of(List.of(
+                pom("org.acme", "app", "1.0", dependency("org.lib", "external", "2.0", null)
+                        + dependency("org.acme", "core", "1.0", null)
+                        + dependency("org.lib", "test-only", "1.0", "test")),
+                pom("org.acme", "app", "1.1", dependency("org.lib", "external", "2.1", null)),
+                pom("org.acme", "core", "1.0", dependency("org.élève", "café", "1.0", null)),
+                pom("org.élève", "café", "1.0", ""),
+                pom("org.acme", "zeta", "1.0", dependency("org.acme", "core", "1.0", "provided")),
+                pom("org.acme", "plugin", "1.0", dependency("org.acme", "core", "1.0", null)
+                        .replace("</dependency>", "<optional>true</optional></dependency>")),
+                pom("org.Acme", "upper", "1.0", "")));
+    }
+
+    private static String dependency(String groupId, String artifactId, String version, String scope) {
+        return "<dependency><groupId>" + groupId + "</groupId><artifactId>" + artifactId + "</artifactId>"
+                + "<version>" + version + "</version>" + (scope == null ? "" : "<scope>" + scope + "</scope>")
+                + "</dependency>";
+    }
+
+    private static PomSummary pom(String groupId, String artifactId, String version, String dependencies) {
+        String xml = "<project><modelVersion>4.0.0</modelVersion><groupId>" + groupId + "</groupId><artifactId>"
+                + artifactId + "</artifactId><version>" + version + "</version><dependencies>" + dependencies
+                + "</dependencies></project>";
+        return PomSummary.read(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)), "test POM");
+    }
+}